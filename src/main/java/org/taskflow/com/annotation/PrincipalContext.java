@@ -0,0 +1,82 @@
+package org.taskflow.com.annotation;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.taskflow.com.model.AuthenticatedUser;
+import org.taskflow.com.service.UserCacheService;
+
+import java.util.Objects;
+
+/**
+ * Caller identity bound by {@link TokenValidationAspect} for the duration of a {@link CheckToken} call.
+ * The email comes with the token lookup; id and role are taken from the token when it carries them,
+ * otherwise loaded on first use and reused for the rest of the call, so nested service calls and repeated reads cost nothing.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalContext {
+
+    private static final ThreadLocal<Principal> CURRENT = new ThreadLocal<>();
+
+    private final UserCacheService userCacheService;
+
+    /**
+     * @return the email of the current caller.
+     * @throws IllegalStateException if called outside a {@link CheckToken} method.
+     */
+    public String getEmail() {
+        return current().user.email();
+    }
+
+    /**
+     * @return the current caller, loading it on first use.
+     * @throws EntityNotFoundException if the token belongs to a user that no longer exists.
+     */
+    public AuthenticatedUser getUser() {
+        Principal principal = current();
+        if (principal.user.id() == null) {
+            principal.user = userCacheService.findByEmail(principal.user.email())
+                    .map(user -> new AuthenticatedUser(user.id(), user.email(), user.role()))
+                    .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        }
+        return principal.user;
+    }
+
+    boolean isBoundTo(String authHeader) {
+        Principal principal = CURRENT.get();
+        return principal != null && Objects.equals(principal.authHeader, authHeader);
+    }
+
+    Principal bind(String authHeader, AuthenticatedUser user) {
+        Principal previous = CURRENT.get();
+        CURRENT.set(new Principal(authHeader, user));
+        return previous;
+    }
+
+    void restore(Principal previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    private Principal current() {
+        Principal principal = CURRENT.get();
+        if (principal == null) {
+            throw new IllegalStateException("No authenticated principal bound; is the method annotated with @CheckToken?");
+        }
+        return principal;
+    }
+
+    static final class Principal {
+        private final String authHeader;
+        private AuthenticatedUser user;
+
+        private Principal(String authHeader, AuthenticatedUser user) {
+            this.authHeader = authHeader;
+            this.user = user;
+        }
+    }
+}
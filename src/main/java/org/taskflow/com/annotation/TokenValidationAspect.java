@@ -7,7 +7,8 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.stereotype.Component;
-import org.taskflow.com.service.TokenCacheService;
+import org.taskflow.com.model.AuthenticatedUser;
+import org.taskflow.com.service.IdentityResolver;
 
 @Aspect
 @Component
@@ -15,8 +16,13 @@ import org.taskflow.com.service.TokenCacheService;
 @RequiredArgsConstructor
 public class TokenValidationAspect {
 
-    private final TokenCacheService tokenCacheService;
+    private final IdentityResolver identityResolver;
+    private final PrincipalContext principalContext;
 
+    /**
+     * Resolves the caller once and binds it to {@link PrincipalContext} for the duration of the call.
+     * Nested {@link CheckToken} calls made with the same header reuse the bound principal.
+     */
     @Around("@annotation(CheckToken)")
     public Object checkTokenAndEmail(ProceedingJoinPoint joinPoint) throws Throwable {
         String authHeader = null;
@@ -32,14 +38,23 @@ public class TokenValidationAspect {
             throw new EntityNotFoundException("Authorization header is missing");
         }
 
-        String email = tokenCacheService.getEmailByToken(authHeader);
+        if (principalContext.isBoundTo(authHeader)) {
+            return joinPoint.proceed();
+        }
+
+        AuthenticatedUser user = identityResolver.resolve(authHeader);
 
-        if (email == null) {
+        if (user == null) {
             throw new EntityNotFoundException("User email not found in cache");
         }
 
-        log.info("Email {} found in cache. Proceeding with the request.", email);
+        log.debug("Email {} resolved. Proceeding with the request.", user.email());
 
-        return joinPoint.proceed();
+        PrincipalContext.Principal previous = principalContext.bind(authHeader, user);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            principalContext.restore(previous);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,170 @@
+package org.taskflow.com.configuration;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes sends to one WebSocket session like Spring's {@code ConcurrentWebSocketSessionDecorator}: the thread
+ * that gets the flush lock sends, the others leave their frame in the buffer and return. The buffer is bounded in
+ * frames and bytes; when it is full, the {@link OutboundSessionBuffers} policy drops, coalesces or disconnects.
+ * <p>
+ * Disconnecting throws {@link SessionLimitExceededException}, which the STOMP handler answers by closing the
+ * session, the same as for Spring's decorator.
+ */
+class BoundedWebSocketSession extends WebSocketSessionDecorator {
+
+    private final OutboundSessionBuffers buffers;
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+    private final int maxFrames;
+
+    private final Deque<WebSocketMessage<?>> buffer = new ArrayDeque<>();
+    // Guarded by buffer, like the deque itself.
+    private int bufferedBytes;
+    private final Lock flushLock = new ReentrantLock();
+    private volatile long sendStartTime;
+    private volatile boolean closing;
+
+    BoundedWebSocketSession(WebSocketSession delegate, OutboundSessionBuffers buffers,
+                            int sendTimeLimit, int bufferSizeLimit, int maxFrames) {
+        super(delegate);
+        this.buffers = buffers;
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.maxFrames = maxFrames;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closing) {
+            return;
+        }
+        synchronized (buffer) {
+            buffer.addLast(message);
+            bufferedBytes += message.getPayloadLength();
+        }
+
+        do {
+            if (!flushLock.tryLock()) {
+                checkLimits();
+                return;
+            }
+            try {
+                flush();
+            } finally {
+                flushLock.unlock();
+            }
+            // A frame added between the last poll and the unlock would otherwise wait for the next send.
+        } while (getBufferedFrames() > 0 && !closing);
+    }
+
+    /**
+     * @return the frames waiting behind the send in progress.
+     */
+    int getBufferedFrames() {
+        synchronized (buffer) {
+            return buffer.size();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        close(CloseStatus.NORMAL);
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        closing = true;
+        synchronized (buffer) {
+            buffer.clear();
+            bufferedBytes = 0;
+        }
+        super.close(status);
+    }
+
+    private void flush() throws IOException {
+        WebSocketMessage<?> next;
+        while (!closing && (next = poll()) != null) {
+            sendStartTime = System.currentTimeMillis();
+            try {
+                getDelegate().sendMessage(next);
+            } finally {
+                sendStartTime = 0;
+            }
+        }
+    }
+
+    private WebSocketMessage<?> poll() {
+        synchronized (buffer) {
+            WebSocketMessage<?> next = buffer.pollFirst();
+            if (next != null) {
+                bufferedBytes -= next.getPayloadLength();
+            }
+            return next;
+        }
+    }
+
+    private void checkLimits() {
+        long started = sendStartTime;
+        if (started > 0 && System.currentTimeMillis() - started > sendTimeLimit) {
+            disconnect("Send time for session '" + getId() + "' exceeded the limit of " + sendTimeLimit + " ms");
+        }
+        boolean keep;
+        synchronized (buffer) {
+            buffers.recordBacklog(buffer.size());
+            keep = !isFull() || makeRoom();
+        }
+        if (!keep) {
+            disconnect("Outbound buffer of session '" + getId() + "' exceeded " + maxFrames + " frames or "
+                    + bufferSizeLimit + " bytes");
+        }
+    }
+
+    private boolean isFull() {
+        return buffer.size() > maxFrames || bufferedBytes > bufferSizeLimit;
+    }
+
+    /**
+     * Applies the overflow policy to the full buffer; called holding its monitor.
+     *
+     * @return false if the session has to be closed instead.
+     */
+    private boolean makeRoom() {
+        buffers.recordOverflow();
+        switch (buffers.getPolicy()) {
+            case DISCONNECT:
+                return false;
+            case COALESCE:
+                List<WebSocketMessage<?>> coalesced = buffers.coalesce(buffer);
+                buffer.clear();
+                buffer.addAll(coalesced);
+                bufferedBytes = coalesced.stream().mapToInt(WebSocketMessage::getPayloadLength).sum();
+                break;
+            default:
+                break;
+        }
+        // The newest frame is kept even if it is larger than the byte limit on its own.
+        int dropped = 0;
+        while (isFull() && buffer.size() > 1) {
+            bufferedBytes -= buffer.pollFirst().getPayloadLength();
+            dropped++;
+        }
+        buffers.recordDropped(dropped);
+        return true;
+    }
+
+    private void disconnect(String reason) {
+        closing = true;
+        throw new SessionLimitExceededException(reason, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+}
@@ -0,0 +1,90 @@
+package org.taskflow.com.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.taskflow.com.service.impl.TokenCacheServiceImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps verified tokens in memory so a client polling with the same bearer token is parsed and
+ * signature-checked once, not on every request.
+ * <p>
+ * Entries are keyed by the SHA-256 of the token and expire at the token's {@code exp} or after
+ * {@code maximumTtl}, whichever comes first. Rejected tokens are never cached.
+ * Besides the {@code cache.*{cache=verifiedJwtCache}} counters, {@code jwt.verification} times the
+ * real verifications and {@code jwt.verification.saved} adds up the verification time hits avoided.
+ */
+class CachingJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> verified;
+    private final Timer verification;
+    private final Counter saved;
+
+    CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration maximumTtl, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.verified = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry(maximumTtl))
+                .recordStats()
+                .build(), "verifiedJwtCache");
+        this.verification = Timer.builder("jwt.verification")
+                .description("Time spent parsing and verifying bearer tokens")
+                .register(meterRegistry);
+        this.saved = Counter.builder("jwt.verification.saved")
+                .description("Estimated verification time avoided by cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = TokenCacheServiceImpl.sessionId(token);
+        Jwt jwt = verified.getIfPresent(key);
+        if (jwt != null && (jwt.getExpiresAt() == null || jwt.getExpiresAt().isAfter(Instant.now()))) {
+            saved.increment(verification.mean(TimeUnit.SECONDS));
+            return jwt;
+        }
+
+        long start = System.nanoTime();
+        jwt = delegate.decode(token);
+        verification.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        verified.put(key, jwt);
+        return jwt;
+    }
+
+    private record UntilTokenExpiry(Duration maximumTtl) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Duration ttl = maximumTtl;
+            if (jwt.getExpiresAt() != null) {
+                Duration remaining = Duration.between(Instant.now(), jwt.getExpiresAt());
+                if (remaining.compareTo(ttl) < 0) {
+                    ttl = remaining.isNegative() ? Duration.ZERO : remaining;
+                }
+            }
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.taskflow.com.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.taskflow.com.model.ClusterMessage;
+import org.taskflow.com.service.ClusterMessageBus;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extends the in-memory broker across nodes. Every message sent to the broker channel for a relayed
+ * destination is delivered locally as before and also published on the {@link ClusterMessageBus};
+ * messages from other nodes are fed into the local broker channel, marked so they are not published again.
+ * <p>
+ * User destinations ({@code /user/...}) are relayed before they are resolved: only the node holding the user's
+ * sessions turns them into session queues, the others find no session and drop them.
+ * <p>
+ * Reports {@code websocket.cluster.messages{direction=published|received}} and the publish-to-delivery
+ * latency as {@code websocket.cluster.latency}, which relies on the node clocks being in sync.
+ */
+@Component
+class ClusterBrokerRelay implements ChannelInterceptor {
+    static final String ORIGIN_HEADER = "clusterOrigin";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ClusterMessageBus bus;
+    private final ObjectProvider<MessageChannel> brokerChannel;
+    private final List<String> destinationPrefixes;
+    private final Counter published;
+    private final Counter received;
+    private final Timer latency;
+
+    ClusterBrokerRelay(ClusterMessageBus bus,
+                       @Qualifier("brokerChannel") ObjectProvider<MessageChannel> brokerChannel,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.websocket.cluster.destination-prefixes:/task-status,/user/}") String... destinationPrefixes) {
+        this.bus = bus;
+        this.brokerChannel = brokerChannel;
+        this.destinationPrefixes = List.of(destinationPrefixes);
+        this.published = Counter.builder("websocket.cluster.messages")
+                .description("Broker messages exchanged with the other nodes")
+                .tag("direction", "published")
+                .register(meterRegistry);
+        this.received = Counter.builder("websocket.cluster.messages")
+                .description("Broker messages exchanged with the other nodes")
+                .tag("direction", "received")
+                .register(meterRegistry);
+        this.latency = Timer.builder("websocket.cluster.latency")
+                .description("Time from publishing a broker message on one node to handing it to the broker on another")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        bus.subscribe(this::deliver);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (SimpMessageHeaderAccessor.getMessageType(headers) == SimpMessageType.MESSAGE
+                && destination != null && isRelayed(destination)
+                && !headers.containsKey(ORIGIN_HEADER)
+                && message.getPayload() instanceof byte[] payload) {
+            Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+            bus.publish(new ClusterMessage(nodeId, destination, contentType == null ? null : contentType.toString(),
+                    payload, System.currentTimeMillis()));
+            published.increment();
+        }
+        return message;
+    }
+
+    private boolean isRelayed(String destination) {
+        return destinationPrefixes.stream().anyMatch(destination::startsWith);
+    }
+
+    void deliver(ClusterMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        latency.record(Math.max(0, System.currentTimeMillis() - message.sentAt()), TimeUnit.MILLISECONDS);
+        received.increment();
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(message.destination());
+        if (message.contentType() != null) {
+            accessor.setContentType(MimeType.valueOf(message.contentType()));
+        }
+        accessor.setHeader(ORIGIN_HEADER, message.origin());
+        brokerChannel.getObject().send(MessageBuilder.createMessage(message.payload(), accessor.getMessageHeaders()));
+    }
+}
@@ -8,14 +8,18 @@ import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
-import org.taskflow.com.service.TokenCacheService;
+import org.taskflow.com.model.AuthenticatedUser;
+import org.taskflow.com.service.IdentityResolver;
 
 import java.util.Map;
 
 @Component
 @AllArgsConstructor
 class JwtHandshakeInterceptor implements HandshakeInterceptor {
-    private final TokenCacheService tokenCacheService;
+    static final String USER_ATTRIBUTE = "user";
+
+    private final IdentityResolver identityResolver;
+
     @Override
     public boolean beforeHandshake(ServerHttpRequest request,
                                    ServerHttpResponse response,
@@ -24,8 +28,12 @@ class JwtHandshakeInterceptor implements HandshakeInterceptor {
         if (request instanceof ServletServerHttpRequest servletRequest) {
             String token = servletRequest.getServletRequest().getParameter("token");
             if (token != null) {
-                attributes.put("user", tokenCacheService.getEmailByToken(token));
-                return true;
+                String authHeader = token.startsWith("Bearer ") ? token : "Bearer " + token;
+                AuthenticatedUser user = identityResolver.resolve(authHeader);
+                if (user != null) {
+                    attributes.put(USER_ATTRIBUTE, user.email());
+                    return true;
+                }
             }
         }
         return false;
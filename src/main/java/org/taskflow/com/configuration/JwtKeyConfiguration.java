@@ -0,0 +1,152 @@
+package org.taskflow.com.configuration;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyType;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Signing and verification keys for issued tokens.
+ * <p>
+ * Keys come from a JWK set file ({@code app.jwt.jwk-set}) or a PKCS12 keystore ({@code app.jwt.keystore.*}),
+ * so every node signs with the same key and tokens survive restarts. The set may hold several keys:
+ * tokens are signed with {@code app.jwt.active-kid} and carry it in the header, while every key in the set
+ * still verifies, which lets a key be rotated out once the tokens it signed have expired.
+ * RSA keys sign with RS256, P-256 keys with ES256.
+ * <p>
+ * Without either location an ephemeral key of {@code app.jwt.algorithm} is generated, as before. A location that
+ * is set but does not exist fails startup instead, so a mistyped path cannot silently fall back to a key that
+ * no other node shares.
+ */
+@Slf4j
+@Configuration
+class JwtKeyConfiguration {
+
+    @Bean
+    JWKSet jwkSet(
+            @Value("${app.jwt.jwk-set:}") Resource jwkSetFile,
+            @Value("${app.jwt.keystore.location:}") Resource keystore,
+            @Value("${app.jwt.keystore.password:}") String keystorePassword,
+            @Value("${app.jwt.algorithm:RS256}") String algorithm
+    ) throws IOException, ParseException, GeneralSecurityException, JOSEException {
+        if (jwkSetFile != null) {
+            requireExists("app.jwt.jwk-set", jwkSetFile);
+            try (InputStream in = jwkSetFile.getInputStream()) {
+                JWKSet jwkSet = JWKSet.load(in);
+                log.info("Loaded {} JWT keys from {}", jwkSet.getKeys().size(), jwkSetFile);
+                return jwkSet;
+            }
+        }
+        if (keystore != null) {
+            requireExists("app.jwt.keystore.location", keystore);
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            try (InputStream in = keystore.getInputStream()) {
+                keyStore.load(in, keystorePassword.toCharArray());
+            }
+            JWKSet jwkSet = JWKSet.load(keyStore, alias -> keystorePassword.toCharArray());
+            log.info("Loaded {} JWT keys from {}", jwkSet.getKeys().size(), keystore);
+            return jwkSet;
+        }
+
+        log.warn("No app.jwt.jwk-set or app.jwt.keystore configured; signing with an ephemeral {} key. "
+                + "Tokens will not survive a restart or be accepted by other nodes.", algorithm);
+        return new JWKSet(generateKey(algorithm));
+    }
+
+    /**
+     * Header for every issued token: the active key's id and its algorithm.
+     */
+    @Bean
+    JwsHeader jwsHeader(JWKSet jwkSet, @Value("${app.jwt.active-kid:}") String activeKid) {
+        JWK key = activeKid.isBlank() ? jwkSet.getKeys().get(0) : jwkSet.getKeyByKeyId(activeKid);
+        if (key == null || !key.isPrivate()) {
+            throw new IllegalStateException("Active JWT key " + activeKid + " not found or has no private key");
+        }
+        return JwsHeader.with(signatureAlgorithm(key)).keyId(key.getKeyID()).build();
+    }
+
+    @Bean
+    JwtEncoder jwtEncoder(JWKSet jwkSet) {
+        return new NimbusJwtEncoder(new ImmutableJWKSet<>(jwkSet));
+    }
+
+    /**
+     * Verifies bearer tokens against every public key in the set, remembering already verified ones until they expire.
+     */
+    @Bean
+    JwtDecoder jwtDecoder(
+            JWKSet jwkSet,
+            @Value("${app.jwt-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.jwt-cache.maximum-ttl:5m}") Duration maximumTtl,
+            MeterRegistry meterRegistry
+    ) {
+        Set<JWSAlgorithm> algorithms = jwkSet.getKeys().stream()
+                .map(key -> JWSAlgorithm.parse(signatureAlgorithm(key).getName()))
+                .collect(Collectors.toSet());
+
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms,
+                new ImmutableJWKSet<>(jwkSet.toPublicJWKSet())));
+        // Claims are validated by NimbusJwtDecoder's JwtValidators instead.
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        return new CachingJwtDecoder(new NimbusJwtDecoder(processor), maximumSize, maximumTtl, meterRegistry);
+    }
+
+    private static void requireExists(String property, Resource location) {
+        if (!location.exists()) {
+            throw new IllegalStateException(property + " is set to " + location + ", which does not exist");
+        }
+    }
+
+    private static SignatureAlgorithm signatureAlgorithm(JWK key) {
+        if (key.getKeyType() == KeyType.RSA) {
+            return SignatureAlgorithm.RS256;
+        }
+        if (key.getKeyType() == KeyType.EC && Curve.P_256.equals(key.toECKey().getCurve())) {
+            return SignatureAlgorithm.ES256;
+        }
+        throw new IllegalStateException("Unsupported JWT key " + key.getKeyID() + " of type " + key.getKeyType()
+                + "; use an RSA or P-256 key");
+    }
+
+    private static JWK generateKey(String algorithm) throws JOSEException {
+        String kid = UUID.randomUUID().toString();
+        return switch (algorithm) {
+            case "RS256" -> new RSAKeyGenerator(2048).keyID(kid).generate();
+            case "ES256" -> new ECKeyGenerator(Curve.P_256).keyID(kid).generate();
+            default -> throw new IllegalStateException("Unsupported app.jwt.algorithm " + algorithm + "; use RS256 or ES256");
+        };
+    }
+}
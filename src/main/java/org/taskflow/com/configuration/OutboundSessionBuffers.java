@@ -0,0 +1,205 @@
+package org.taskflow.com.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.taskflow.com.enums.OutboundOverflowPolicy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the {@link BoundedWebSocketSession} of every STOMP session and holds what they share: the overflow
+ * policy, the frame limit and the metrics. A session whose send has been blocked longer than the send-time limit
+ * is closed whatever the policy, as its client is not reading at all.
+ * <p>
+ * Tagging by session would create a time series per connection, so backlogs are reported in aggregate:
+ * {@code websocket.session.backlog} samples the queued frames every time a frame has to wait,
+ * {@code websocket.session.backlog.max} and {@code websocket.session.backlog.total} cover the open sessions,
+ * and {@code websocket.session.overflow{policy}} and {@code websocket.session.dropped} count full buffers and
+ * frames given up.
+ */
+@Component
+class OutboundSessionBuffers {
+    static final String TASK_ID_FIELD = "task_id";
+    static final String VERSION_FIELD = "version";
+
+    private final ObjectMapper objectMapper;
+    private final OutboundOverflowPolicy policy;
+    private final int maxFrames;
+    // By session id; removed in release once the connection has closed.
+    private final Map<String, BoundedWebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final DistributionSummary backlog;
+    private final Counter overflows;
+    private final Counter dropped;
+
+    OutboundSessionBuffers(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.websocket.transport.overflow-policy:DROP_OLDEST}") OutboundOverflowPolicy policy,
+                           @Value("${app.websocket.transport.max-queued-frames:1000}") int maxFrames) {
+        this.objectMapper = objectMapper;
+        this.policy = policy;
+        this.maxFrames = maxFrames;
+        this.backlog = DistributionSummary.builder("websocket.session.backlog")
+                .description("Frames queued for a session when another frame had to wait behind a send")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.overflows = Counter.builder("websocket.session.overflow")
+                .description("Times a session's outbound buffer was full")
+                .tag("policy", policy.name())
+                .register(meterRegistry);
+        this.dropped = Counter.builder("websocket.session.dropped")
+                .description("Outbound frames dropped from full session buffers")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.backlog.max", this,
+                        buffers -> buffers.sessions.values().stream().mapToInt(BoundedWebSocketSession::getBufferedFrames).max().orElse(0))
+                .description("Largest number of frames queued for one open session")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.backlog.total", this,
+                        buffers -> buffers.sessions.values().stream().mapToInt(BoundedWebSocketSession::getBufferedFrames).sum())
+                .description("Frames queued for all open sessions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param sendTimeLimit   how long one send may block, in milliseconds.
+     * @param bufferSizeLimit how many bytes may wait behind it.
+     */
+    WebSocketSession decorate(WebSocketSession session, int sendTimeLimit, int bufferSizeLimit) {
+        BoundedWebSocketSession bounded = new BoundedWebSocketSession(session, this, sendTimeLimit, bufferSizeLimit, maxFrames);
+        sessions.put(session.getId(), bounded);
+        return bounded;
+    }
+
+    /**
+     * Forgets a session whose connection has closed, however it was closed.
+     */
+    void release(WebSocketSession session) {
+        sessions.remove(session.getId());
+    }
+
+    OutboundOverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    void recordBacklog(int frames) {
+        backlog.record(frames);
+    }
+
+    void recordOverflow() {
+        overflows.increment();
+    }
+
+    void recordDropped(int frames) {
+        if (frames > 0) {
+            dropped.increment(frames);
+        }
+    }
+
+    /**
+     * Merges the buffered MESSAGE frames of each subscription whose bodies are arrays of task changes into one
+     * frame holding the highest version per task, placed where the newest of them was. Other frames are kept.
+     *
+     * @param frames the buffer, oldest first.
+     * @return the frames to buffer instead, oldest first.
+     */
+    List<WebSocketMessage<?>> coalesce(Collection<WebSocketMessage<?>> frames) {
+        List<WebSocketMessage<?>> originals = new ArrayList<>(frames);
+        List<TaskChangeFrame> parsed = new ArrayList<>(originals.size());
+        Map<String, List<TaskChangeFrame>> bySubscription = new HashMap<>();
+        for (WebSocketMessage<?> frame : originals) {
+            TaskChangeFrame taskChanges = parse(frame);
+            parsed.add(taskChanges);
+            if (taskChanges != null) {
+                bySubscription.computeIfAbsent(taskChanges.subscription(), s -> new ArrayList<>()).add(taskChanges);
+            }
+        }
+
+        List<WebSocketMessage<?>> result = new ArrayList<>(originals.size());
+        for (int i = 0; i < originals.size(); i++) {
+            TaskChangeFrame taskChanges = parsed.get(i);
+            if (taskChanges == null) {
+                result.add(originals.get(i));
+                continue;
+            }
+            List<TaskChangeFrame> group = bySubscription.get(taskChanges.subscription());
+            if (group.size() == 1) {
+                result.add(originals.get(i));
+            } else if (group.get(group.size() - 1) == taskChanges) {
+                result.add(merge(group));
+            }
+        }
+        return result;
+    }
+
+    private TaskChangeFrame parse(WebSocketMessage<?> frame) {
+        if (!(frame instanceof TextMessage text)) {
+            return null;
+        }
+        try {
+            List<Message<byte[]>> decoded = new StompDecoder().decode(ByteBuffer.wrap(text.asBytes()));
+            if (decoded.size() != 1) {
+                return null;
+            }
+            StompHeaderAccessor accessor = StompHeaderAccessor.wrap(decoded.get(0));
+            if (accessor.getCommand() != StompCommand.MESSAGE || accessor.getSubscriptionId() == null) {
+                return null;
+            }
+            JsonNode body = objectMapper.readTree(decoded.get(0).getPayload());
+            if (!body.isArray()) {
+                return null;
+            }
+            for (JsonNode change : body) {
+                if (!change.has(TASK_ID_FIELD) || !change.has(VERSION_FIELD)) {
+                    return null;
+                }
+            }
+            return new TaskChangeFrame(accessor.getSubscriptionId(), accessor, (ArrayNode) body);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private WebSocketMessage<?> merge(List<TaskChangeFrame> group) {
+        Map<String, JsonNode> latest = new LinkedHashMap<>();
+        for (TaskChangeFrame frame : group) {
+            for (JsonNode change : frame.changes()) {
+                latest.merge(change.get(TASK_ID_FIELD).asText(), change, (current, next) ->
+                        next.get(VERSION_FIELD).asLong() >= current.get(VERSION_FIELD).asLong() ? next : current);
+            }
+        }
+        ArrayNode merged = objectMapper.createArrayNode().addAll(latest.values());
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(merged);
+            StompHeaderAccessor accessor = group.get(group.size() - 1).headers();
+            accessor.setNativeHeader(StompHeaderAccessor.STOMP_CONTENT_LENGTH_HEADER, String.valueOf(body.length));
+            return new TextMessage(new StompEncoder().encode(MessageBuilder.createMessage(body, accessor.getMessageHeaders())));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write coalesced task changes", e);
+        }
+    }
+
+    private record TaskChangeFrame(String subscription, StompHeaderAccessor headers, ArrayNode changes) {}
+}
@@ -0,0 +1,34 @@
+package org.taskflow.com.configuration;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Makes the email resolved by {@link JwtHandshakeInterceptor} the principal of the WebSocket session, so messages
+ * sent with {@code convertAndSendToUser(email, ...)} reach that user's sessions through {@code /user/queue/...}.
+ */
+@Component
+class PrincipalHandshakeHandler extends DefaultHandshakeHandler {
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request,
+                                      WebSocketHandler wsHandler,
+                                      Map<String, Object> attributes) {
+        if (attributes.get(JwtHandshakeInterceptor.USER_ATTRIBUTE) instanceof String email) {
+            return new WebSocketUser(email);
+        }
+        return super.determineUser(request, wsHandler, attributes);
+    }
+
+    record WebSocketUser(String email) implements Principal {
+        @Override
+        public String getName() {
+            return email;
+        }
+    }
+}
@@ -1,23 +1,43 @@
 package org.taskflow.com.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.taskflow.com.model.UserSnapshot;
+import org.taskflow.com.service.impl.UserCacheServiceImpl;
+
+import java.time.Duration;
 
 @Configuration
 @EnableCaching
 public class RedisConfiguration {
 
+    /**
+     * Redis-backed caches, each fronted by a short-lived local tier (see {@link TwoLevelCacheManager}).
+     */
     @Bean
     public CacheManager cacheManager(
-            RedisConnectionFactory redisConnectionFactory
+            RedisConnectionFactory redisConnectionFactory,
+            RedisTemplate<String, String> redisTemplate,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.local.maximum-size:10000}") long localMaximumSize,
+            @Value("${app.cache.local.expire-after-write:60s}") Duration localExpireAfterWrite,
+            @Value("${app.cache.users.time-to-live:30m}") Duration usersTimeToLive
     ) {
         RedisCacheConfiguration config = RedisCacheConfiguration
                 .defaultCacheConfig()
@@ -31,9 +51,40 @@ public class RedisConfiguration {
                                 .SerializationPair
                                 .fromSerializer(new GenericJackson2JsonRedisSerializer())
                 );
+        RedisCacheConfiguration users = config
+                .entryTtl(usersTimeToLive)
+                .serializeValuesWith(
+                        RedisSerializationContext
+                                .SerializationPair
+                                .fromSerializer(new Jackson2JsonRedisSerializer<>(UserSnapshot.class))
+                );
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(config)
+                .withCacheConfiguration(UserCacheServiceImpl.USERS_BY_EMAIL, users)
+                .withCacheConfiguration(UserCacheServiceImpl.USERS_BY_ID, users)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                redisCacheManager, redisTemplate, meterRegistry, localMaximumSize, localExpireAfterWrite);
+        redisMessageListenerContainer.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.EVICTION_CHANNEL));
+        return cacheManager;
+    }
+
+    /**
+     * Shared pub/sub container. Components subscribe to their own channels on it
+     * instead of opening a connection per listener.
+     * Listeners run on the connection's thread, in arrival order, so they must not block;
+     * ones with real work hand it off (see {@link org.taskflow.com.service.impl.RedisClusterMessageBus}).
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory redisConnectionFactory
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.setTaskExecutor(new SyncTaskExecutor());
+        return container;
     }
 }
\ No newline at end of file
@@ -1,8 +1,5 @@
 package org.taskflow.com.configuration;
 
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -14,10 +11,6 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
@@ -25,13 +18,8 @@ import org.springframework.security.oauth2.server.resource.web.access.BearerToke
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import org.taskflow.com.repository.UserRepository;
-import org.taskflow.com.service.impl.UserDetailsImpl;
-
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.NoSuchAlgorithmException;
-import java.security.interfaces.RSAPublicKey;
+import org.taskflow.com.mapper.MapperSecurity;
+import org.taskflow.com.service.UserCacheService;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
@@ -50,6 +38,10 @@ class SecurityConfiguration {
                 .requestMatchers(antMatcher("/webjars/**")).permitAll()
                 .requestMatchers(antMatcher("/api/v1/auth/login")).permitAll()
                 .requestMatchers(antMatcher("/api/v1/auth/register")).permitAll()
+                // The handshake carries the token as a query parameter; JwtHandshakeInterceptor checks it.
+                .requestMatchers(antMatcher("/ws/**")).permitAll()
+                .requestMatchers(antMatcher("/actuator/**")).hasRole("ADMIN")
+                .requestMatchers(antMatcher("/api/v1/admin/**")).hasRole("ADMIN")
                 .requestMatchers(antMatcher("/api/v1/analytics/**")).hasAnyRole("MANAGER", "ADMIN")
                 .requestMatchers(antMatcher("/api/v1/projects/**")).hasAnyRole("MANAGER", "ADMIN")
                 .anyRequest().authenticated()
@@ -89,25 +81,6 @@ class SecurityConfiguration {
         };
     }
 
-    @Bean
-    public KeyPair keyPair() throws NoSuchAlgorithmException {
-        var keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-        keyPairGenerator.initialize(2048);
-        return keyPairGenerator.generateKeyPair();
-    }
-
-    @Bean
-    JwtDecoder jwtDecoder(KeyPair keyPair) {
-        return NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
-    }
-
-    @Bean
-    JwtEncoder jwtEncoder(KeyPair keyPair) {
-        var jwk = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic()).privateKey(keyPair.getPrivate()).build();
-        var jwkSet = new ImmutableJWKSet<>(new JWKSet(jwk));
-        return new NimbusJwtEncoder(jwkSet);
-    }
-
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtGrantedAuthoritiesConverter grantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
@@ -125,10 +98,11 @@ class SecurityConfiguration {
 
     @Bean
     UserDetailsService userDetailsService(
-            UserRepository userRepository
+            UserCacheService userCacheService,
+            MapperSecurity mapperSecurity
     ) {
-        return email -> userRepository.findByEmail(email)
-                .map(user -> new UserDetailsImpl(user.getEmail(), user.getPassword(), user.getRole()))
+        return email -> userCacheService.findByEmail(email)
+                .map(mapperSecurity::toUserDetailsImpl)
                 .orElseThrow(() -> new UsernameNotFoundException(email + " not found user by email"));
     }
 }
\ No newline at end of file
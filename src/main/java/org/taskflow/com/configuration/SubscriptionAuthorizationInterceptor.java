@@ -0,0 +1,64 @@
+package org.taskflow.com.configuration;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.taskflow.com.repository.ProjectRepository;
+
+import java.security.Principal;
+
+import static org.taskflow.com.service.impl.TaskEventRelay.PROJECT_DESTINATION_PREFIX;
+
+/**
+ * Checks client frames before they reach the broker. A project topic may only be subscribed to by a user who
+ * created the project or has a task in it; session queues only through {@code /user/queue/...}, which resolves
+ * to the subscriber's own sessions. Destination patterns are refused, since the broker would match them against
+ * every project, and clients may only send to {@code /app}. A refused frame is answered with a STOMP ERROR.
+ */
+@Component
+@RequiredArgsConstructor
+class SubscriptionAuthorizationInterceptor implements ChannelInterceptor {
+    private static final String APPLICATION_PREFIX = "/app/";
+    private static final String QUEUE_PREFIX = "/queue/";
+
+    private final ProjectRepository projectRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+        String destination = accessor.getDestination();
+        if (accessor.getCommand() == StompCommand.SEND && (destination == null || !destination.startsWith(APPLICATION_PREFIX))) {
+            throw new MessageDeliveryException(message, "Clients may only send to " + APPLICATION_PREFIX);
+        }
+        if (accessor.getCommand() == StompCommand.SUBSCRIBE && !maySubscribe(destination, accessor.getUser())) {
+            throw new MessageDeliveryException(message, "Not allowed to subscribe to " + destination);
+        }
+        return message;
+    }
+
+    private boolean maySubscribe(String destination, Principal user) {
+        if (destination == null || user == null || destination.contains("*") || destination.contains("?")
+                || destination.contains("{")
+                || destination.startsWith(QUEUE_PREFIX)) {
+            return false;
+        }
+        if (!destination.startsWith(PROJECT_DESTINATION_PREFIX)) {
+            return true;
+        }
+        try {
+            Long projectId = Long.valueOf(destination.substring(PROJECT_DESTINATION_PREFIX.length()));
+            return projectRepository.isVisibleTo(projectId, user.getName());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
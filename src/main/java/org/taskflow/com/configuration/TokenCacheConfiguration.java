@@ -0,0 +1,34 @@
+package org.taskflow.com.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+class TokenCacheConfiguration {
+
+    /**
+     * In-process L1 cache in front of the Redis token store. The TTL bounds how long a
+     * node may serve a revoked token if an invalidation message is lost.
+     * Hit/miss/eviction counters are published as {@code cache.*{cache=tokenNearCache}}.
+     */
+    @Bean
+    Cache<String, String> tokenNearCache(
+            @Value("${app.token-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.token-cache.expire-after-write:60s}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry
+    ) {
+        Cache<String, String> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "tokenNearCache");
+    }
+}
@@ -0,0 +1,112 @@
+package org.taskflow.com.configuration;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * A node-local Caffeine cache in front of a shared Redis cache.
+ * Reads are served locally when possible; writes and evictions go to Redis and are announced
+ * to the other nodes, which drop their local copy of the key.
+ */
+class TwoLevelCache implements Cache {
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+    private final BiConsumer<String, String> evictionPublisher;
+
+    /**
+     * @param evictionPublisher called with the cache name and the evicted key, or a null key when the cache is cleared.
+     */
+    TwoLevelCache(Cache remote,
+                  com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local,
+                  BiConsumer<String, String> evictionPublisher) {
+        this.remote = remote;
+        this.local = local;
+        this.evictionPublisher = evictionPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper value = local.getIfPresent(localKey);
+        if (value == null) {
+            value = remote.get(key);
+            if (value != null) {
+                local.put(localKey, new SimpleValueWrapper(value.get()));
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object stored = value == null ? null : value.get();
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + stored);
+        }
+        return (T) stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+        T loaded = remote.get(key, valueLoader);
+        local.put(localKey(key), new SimpleValueWrapper(loaded));
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        evictionPublisher.accept(getName(), localKey(key));
+        local.put(localKey(key), new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        evictionPublisher.accept(getName(), localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        evictionPublisher.accept(getName(), null);
+    }
+
+    /**
+     * Applies an eviction announced by another node to the local tier only.
+     */
+    void evictLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    // Keys cross the wire as strings, so the local tier is keyed the same way.
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
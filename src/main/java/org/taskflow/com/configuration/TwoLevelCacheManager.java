@@ -0,0 +1,88 @@
+package org.taskflow.com.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every cache of the Redis cache manager in a {@link TwoLevelCache}.
+ * Evictions are announced on {@code cache:evict} as {@code <node>\n<cache>[\n<key>]};
+ * each node drops the key from its local tier, ignoring its own messages.
+ * Local tiers report as {@code cache.*{cache=<name>.local}}.
+ */
+class TwoLevelCacheManager implements CacheManager, MessageListener {
+    static final String EVICTION_CHANNEL = "cache:evict";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final CacheManager remote;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long localMaximumSize;
+    private final Duration localExpireAfterWrite;
+
+    TwoLevelCacheManager(CacheManager remote,
+                         RedisTemplate<String, String> redisTemplate,
+                         MeterRegistry meterRegistry,
+                         long localMaximumSize,
+                         Duration localExpireAfterWrite) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.localMaximumSize = localMaximumSize;
+        this.localExpireAfterWrite = localExpireAfterWrite;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length < 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.evictLocal(parts.length == 3 ? parts[2] : null);
+        }
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localExpireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name + ".local");
+        return new TwoLevelCache(remoteCache, local, this::publishEviction);
+    }
+
+    private void publishEviction(String cacheName, String key) {
+        String message = nodeId + "\n" + cacheName + (key == null ? "" : "\n" + key);
+        redisTemplate.convertAndSend(EVICTION_CHANNEL, message);
+    }
+}
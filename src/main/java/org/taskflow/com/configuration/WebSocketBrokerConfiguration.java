@@ -0,0 +1,44 @@
+package org.taskflow.com.configuration;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * Does what {@code @EnableWebSocketMessageBroker} does, applying the {@link WebSocketConfig} settings, but gives
+ * every STOMP session a {@link BoundedWebSocketSession} in place of Spring's concurrent session decorator. The send
+ * time and buffer size limits still come from {@link WebSocketConfig#configureWebSocketTransport}. Sessions are
+ * released from {@link OutboundSessionBuffers} when their connection closes.
+ */
+@Configuration(proxyBeanMethods = false)
+@RequiredArgsConstructor
+class WebSocketBrokerConfiguration extends DelegatingWebSocketMessageBrokerConfiguration {
+    private final OutboundSessionBuffers outboundSessionBuffers;
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(AbstractSubscribableChannel clientInboundChannel,
+                                                        AbstractSubscribableChannel clientOutboundChannel) {
+        return new SubProtocolWebSocketHandler(clientInboundChannel, clientOutboundChannel) {
+            @Override
+            protected WebSocketSession decorateSession(WebSocketSession session) {
+                return outboundSessionBuffers.decorate(session, getSendTimeLimit(), getSendBufferSizeLimit());
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                try {
+                    super.afterConnectionClosed(session, closeStatus);
+                } finally {
+                    outboundSessionBuffers.release(session);
+                }
+            }
+        };
+    }
+}
@@ -1,25 +1,98 @@
 package org.taskflow.com.configuration;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+import java.time.Duration;
+
+// The broker itself is enabled by WebSocketBrokerConfiguration, which applies this configurer.
 @Configuration
-@EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final ClusterBrokerRelay clusterBrokerRelay;
+    private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
+    private final PrincipalHandshakeHandler principalHandshakeHandler;
+    private final SubscriptionAuthorizationInterceptor subscriptionAuthorizationInterceptor;
+
+    @Value("${app.websocket.transport.send-time-limit:5s}")
+    private Duration sendTimeLimit;
+
+    @Value("${app.websocket.transport.send-buffer-size-limit:512KB}")
+    private DataSize sendBufferSizeLimit;
+
+    @Value("${app.websocket.transport.message-size-limit:64KB}")
+    private DataSize messageSizeLimit;
+
+    @Value("${app.websocket.transport.time-to-first-message:30s}")
+    private Duration timeToFirstMessage;
+
+    @Value("${app.websocket.transport.max-queued-frames:1000}")
+    private int maxQueuedFrames;
+
+    @Value("${app.websocket.inbound-channel.pool-size:16}")
+    private int inboundPoolSize;
+
+    @Value("${app.websocket.inbound-channel.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${app.websocket.outbound-channel.pool-size:32}")
+    private int outboundPoolSize;
+
+    @Value("${app.websocket.outbound-channel.queue-capacity:50000}")
+    private int outboundQueueCapacity;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/task-status");
+        config.enableSimpleBroker("/task-status", "/queue");
+        // Each node keeps its own subscriptions; the relay copies broker messages to the other nodes.
+        config.configureBrokerChannel().interceptors(clusterBrokerRelay);
         config.setApplicationDestinationPrefixes("/app");
+        // /user/queue/x is resolved per session of the handshake principal into /queue/x-user<sessionId>.
+        config.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Applied to every session by BoundedWebSocketSession together with the frame limit and overflow policy.
+        registration.setSendTimeLimit((int) sendTimeLimit.toMillis())
+                .setSendBufferSizeLimit((int) sendBufferSizeLimit.toBytes())
+                .setMessageSizeLimit((int) messageSizeLimit.toBytes())
+                .setTimeToFirstMessage((int) timeToFirstMessage.toMillis());
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(subscriptionAuthorizationInterceptor);
+        registration.taskExecutor()
+                .corePoolSize(inboundPoolSize)
+                .maxPoolSize(inboundPoolSize)
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Sends to a stalled client hold a thread for up to the send time limit; the other threads only buffer.
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize)
+                .queueCapacity(outboundQueueCapacity);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
+                .addInterceptors(jwtHandshakeInterceptor)
+                .setHandshakeHandler(principalHandshakeHandler)
                 .setAllowedOrigins("http://localhost:63342/")//cors
-                .withSockJS();
+                .withSockJS()
+                // Frames kept for a polling client between its requests; a full cache closes the session.
+                .setHttpMessageCacheSize(maxQueuedFrames);
     }
 }
\ No newline at end of file
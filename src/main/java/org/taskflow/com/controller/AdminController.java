@@ -0,0 +1,66 @@
+package org.taskflow.com.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.taskflow.com.model.SessionPage;
+import org.taskflow.com.service.TokenCacheService;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Administrative endpoints")
+public class AdminController {
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final TokenCacheService tokenCacheService;
+
+    /**
+     * Pages through all active sessions without loading them at once.
+     *
+     * @param cursor the cursor returned by the previous page, {@code 0} for the first one
+     * @param size   the approximate number of sessions per page, at most {@value #MAX_PAGE_SIZE}
+     */
+    @Operation(
+            summary = "List All Sessions",
+            description = "Page through the active sessions of all users. Follow next_cursor until it is null.",
+            tags = {"Admin"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "A page of sessions returned.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = SessionPage.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "The cursor is not one returned by a previous page."
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden. Only administrators may list sessions."
+            )
+    })
+    @GetMapping("/sessions")
+    @ResponseStatus(HttpStatus.OK)
+    public SessionPage getSessions(
+            @RequestParam(defaultValue = "0") String cursor,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        if (!cursor.matches("\\d{1,20}")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        return tokenCacheService.getSessionPage(cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+}
@@ -6,18 +6,27 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.taskflow.com.exception.DeadlineReminderException;
 import org.taskflow.com.exception.EmailAlreadyOccupiedException;
+import org.taskflow.com.exception.TaskVersionConflictException;
+import org.taskflow.com.exception.UnknownTaskValueException;
 
 @RestControllerAdvice
 public class AdviceController {
     @ExceptionHandler({
             DeadlineReminderException.class,
             EmailAlreadyOccupiedException.class,
+            UnknownTaskValueException.class,
     })
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorDTO badRequest(Exception exception) {
         return new ErrorDTO(exception.getMessage());
     }
 
+    @ExceptionHandler(TaskVersionConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorDTO conflict(Exception exception) {
+        return new ErrorDTO(exception.getMessage());
+    }
+
     record ErrorDTO(String message) {
     }
 }
@@ -1,14 +1,14 @@
 package org.taskflow.com.controller;
 
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
 @Controller
 public class NotificationController {
 
     @MessageMapping("/notifications")
-    @SendTo("/topic/updates")
+    @SendToUser("/queue/notifications")
     public String sendNotification(String message) {
         return "New status update: " + message;
     }
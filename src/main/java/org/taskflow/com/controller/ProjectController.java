@@ -12,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.taskflow.com.entity.UserEntity;
 import org.taskflow.com.model.CreateProjectDTO;
 import org.taskflow.com.model.ProjectDTO;
@@ -70,6 +71,7 @@ public class ProjectController {
      * Requires a valid authorization token in the request header.
      *
      * @param authHeader the authorization header containing the user's token.
+     * @param request the current request, used to answer If-None-Match with 304.
      * @return a list of projects created by the authenticated user.
      */
     @Operation(
@@ -85,11 +87,17 @@ public class ProjectController {
                             mediaType = "application/json",
                             schema = @Schema(implementation = ProjectDTO.class)
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the ETag sent in If-None-Match."
             )
     })
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<ProjectDTO> getProjects(@RequestHeader("Authorization") String authHeader) {
+    public List<ProjectDTO> getProjects(@RequestHeader("Authorization") String authHeader, WebRequest request) {
+        if (request.checkNotModified(projectService.getProjectsFingerprint(authHeader))) {
+            return null;
+        }
         return projectService.getProjects(authHeader);
     }
 
@@ -100,6 +108,7 @@ public class ProjectController {
      * @param id the ID of the project.
      * @param user the authenticated user.
      * @param authHeader the authorization header containing the user's token.
+     * @param request the current request, used to answer If-None-Match with 304.
      * @return the details of the requested project.
      */
     @Operation(
@@ -119,15 +128,22 @@ public class ProjectController {
             @ApiResponse(
                     responseCode = "404",
                     description = "Project not found."
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the ETag sent in If-None-Match."
             )
     })
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
     public ProjectDTO getProjectById(
             @PathVariable Long id,
             @AuthenticationPrincipal UserEntity user,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestHeader("Authorization") String authHeader,
+            WebRequest request) {
         log.info("Fetching project {} for user", id);
+        if (request.checkNotModified(String.valueOf(projectService.getProjectVersion(id, authHeader)))) {
+            return null;
+        }
         return projectService.getProjectById(id, authHeader);
     }
 
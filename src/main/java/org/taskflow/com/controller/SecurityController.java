@@ -16,6 +16,8 @@ import org.springframework.web.bind.annotation.*;
 import org.taskflow.com.model.*;
 import org.taskflow.com.service.SecurityService;
 
+import java.util.List;
+
 @AllArgsConstructor
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -86,4 +88,49 @@ public class SecurityController {
         log.info("Registering new user: {}", newUser.email());
         return service.register(newUser);
     }
+
+    /**
+     * Lists the active sessions of the authenticated user.
+     */
+    @Operation(
+            summary = "List Sessions",
+            description = "List the active sessions of the authenticated user.",
+            tags = {"Security"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Active sessions returned.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = UserSession.class)
+                    )
+            )
+    })
+    @GetMapping("/sessions")
+    @ResponseStatus(HttpStatus.OK)
+    public List<UserSession> getSessions(@RequestHeader("Authorization") String authHeader) {
+        return service.getSessions(authHeader);
+    }
+
+    /**
+     * Revokes every session of the authenticated user.
+     */
+    @Operation(
+            summary = "Revoke Sessions",
+            description = "Log the authenticated user out of every session, including the current one.",
+            tags = {"Security"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "All sessions revoked."
+            )
+    })
+    @DeleteMapping("/sessions")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revokeSessions(@RequestHeader("Authorization") String authHeader) {
+        log.info("Revoking all sessions of the current user");
+        service.revokeSessions(authHeader);
+    }
 }
@@ -9,16 +9,29 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.mail.MessagingException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.taskflow.com.enums.ExportFormat;
+import org.taskflow.com.enums.TaskSortField;
+import org.taskflow.com.model.BulkResult;
+import org.taskflow.com.model.BulkUpdateTaskDTO;
 import org.taskflow.com.model.CreateTaskDTO;
+import org.taskflow.com.model.PatchTaskDTO;
 import org.taskflow.com.model.TaskDTO;
+import org.taskflow.com.model.TaskFilter;
+import org.taskflow.com.model.TaskPage;
+import org.taskflow.com.model.TaskQueryPage;
+import org.taskflow.com.model.TaskSearchPage;
 import org.taskflow.com.model.UpdateTaskDTO;
 import org.taskflow.com.service.MailService;
 import org.taskflow.com.service.TaskService;
-import org.taskflow.com.service.TokenCacheService;
 
 import java.util.HashMap;
 import java.util.List;
@@ -29,11 +42,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 @Tag(name = "Tasks", description = "Endpoints for managing tasks")
 public class TaskController {
+    static final int MAX_PAGE_SIZE = 200;
+    static final int MAX_QUERY_PAGE = 10_000;
+    static final int MAX_BULK_SIZE = 1000;
 
     private final TaskService taskService;
-    private final SimpMessagingTemplate messagingTemplate;
     private final MailService mailService;
-    private final TokenCacheService tokenCacheService;
 
     /**
      * Creates a new task for the authenticated user.
@@ -66,9 +80,7 @@ public class TaskController {
     public TaskDTO createTask(@RequestBody CreateTaskDTO createTaskDTO, @RequestHeader("Authorization") String authHeader) {
         try {
             TaskDTO createdTask = taskService.createTask(createTaskDTO, authHeader);
-            messagingTemplate.convertAndSend("/task-status/updates",
-                    "Task created: " + createdTask.id() + " - " + createdTask.status());
-            String email = tokenCacheService.getEmailByToken(authHeader);
+            String email = createdTask.assignedToEmail();
 
             Map<String, Object> variables = new HashMap<>();
             variables.put("email", email);
@@ -84,14 +96,112 @@ public class TaskController {
     }
 
     /**
-     * Gets all tasks assigned to the authenticated user.
+     * Creates many tasks for the authenticated user in one request.
      *
+     * @param createTaskDTOs the tasks to create, at most {@value #MAX_BULK_SIZE}
+     * @param authHeader     the authorization header containing the JWT token
+     * @return one result per task, in request order
+     */
+    @Operation(
+            summary = "Create Tasks in Bulk",
+            description = "Creates up to 1000 tasks for the authenticated user. Each item is reported separately; items with an unknown project are skipped.",
+            tags = {"Tasks"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed; see the per-item results.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkResult.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "The batch is empty or larger than 1000 items."
+            )
+    })
+    @PostMapping("/bulk")
+    public BulkResult createTasks(@RequestBody List<CreateTaskDTO> createTaskDTOs, @RequestHeader("Authorization") String authHeader) {
+        checkBulkSize(createTaskDTOs);
+        return taskService.createTasks(createTaskDTOs, authHeader);
+    }
+
+    /**
+     * Updates many tasks of the authenticated user in one request.
+     *
+     * @param updateTaskDTOs the task IDs and their updated details, at most {@value #MAX_BULK_SIZE}
+     * @param authHeader     the authorization header containing the JWT token
+     * @return one result per task, in request order
+     */
+    @Operation(
+            summary = "Update Tasks in Bulk",
+            description = "Updates up to 1000 tasks assigned to the authenticated user. Each item is reported separately; unknown tasks are skipped.",
+            tags = {"Tasks"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed; see the per-item results.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkResult.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "The batch is empty or larger than 1000 items."
+            )
+    })
+    @PutMapping("/bulk")
+    public BulkResult updateTasks(@RequestBody List<BulkUpdateTaskDTO> updateTaskDTOs, @RequestHeader("Authorization") String authHeader) {
+        checkBulkSize(updateTaskDTOs);
+        return taskService.updateTasks(updateTaskDTOs, authHeader);
+    }
+
+    /**
+     * Deletes many tasks of the authenticated user in one request.
+     *
+     * @param taskIds    the IDs of the tasks to delete, at most {@value #MAX_BULK_SIZE}
      * @param authHeader the authorization header containing the JWT token
-     * @return a list of task DTOs
+     * @return one result per task, in request order
+     */
+    @Operation(
+            summary = "Delete Tasks in Bulk",
+            description = "Deletes up to 1000 tasks assigned to the authenticated user. Each ID is reported separately; unknown tasks are skipped.",
+            tags = {"Tasks"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed; see the per-item results.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkResult.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "The batch is empty or larger than 1000 items."
+            )
+    })
+    @PostMapping("/bulk/delete")
+    public BulkResult deleteTasks(@RequestBody List<Long> taskIds, @RequestHeader("Authorization") String authHeader) {
+        checkBulkSize(taskIds);
+        return taskService.deleteTasks(taskIds, authHeader);
+    }
+
+    /**
+     * Gets one page of the tasks assigned to the authenticated user.
+     *
+     * @param authHeader the authorization header containing the JWT token
+     * @param cursor     the cursor returned with the previous page; omit for the first page
+     * @param size       the page size, at most {@value #MAX_PAGE_SIZE}
+     * @return the tasks and the cursor of the next page
      */
     @Operation(
             summary = "Get Tasks",
-            description = "Retrieves all tasks assigned to the authenticated user.",
+            description = "Retrieves the tasks assigned to the authenticated user, one page at a time. Follow next_cursor until it is null.",
             tags = {"Tasks"}
     )
     @ApiResponses({
@@ -100,13 +210,154 @@ public class TaskController {
                     description = "Tasks retrieved successfully.",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = TaskDTO.class)
+                            schema = @Schema(implementation = TaskPage.class)
                     )
             )
     })
     @GetMapping
-    public List<TaskDTO> getTasks(@RequestHeader("Authorization") String authHeader) {
-        return taskService.getTasks(authHeader);
+    public TaskPage getTasks(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return taskService.getTasks(authHeader, cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Lists the tasks visible to the authenticated user that match a filter.
+     *
+     * @param authHeader the authorization header containing the JWT token
+     * @param filter     the conditions to match; every parameter is optional
+     * @param sort       the field to sort by
+     * @param direction  the sort direction
+     * @param page       the page number, from 0 to {@value #MAX_QUERY_PAGE}
+     * @param size       the page size, at most {@value #MAX_PAGE_SIZE}
+     * @return the tasks on the page and whether another page follows
+     */
+    @Operation(
+            summary = "Query Tasks",
+            description = "Lists the tasks assigned to the authenticated user or belonging to their projects, filtered by project, status, priority, assignee and deadline range, and sorted server-side.",
+            tags = {"Tasks"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks retrieved successfully.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskQueryPage.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "The page is beyond the last page that can be queried."
+            )
+    })
+    @GetMapping("/query")
+    public TaskQueryPage queryTasks(
+            @RequestHeader("Authorization") String authHeader,
+            @ParameterObject TaskFilter filter,
+            @RequestParam(defaultValue = "ID") TaskSortField sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        if (page > MAX_QUERY_PAGE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page must be at most " + MAX_QUERY_PAGE);
+        }
+        return taskService.queryTasks(filter, sort, direction, Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)), authHeader);
+    }
+
+    /**
+     * Searches the titles and descriptions of the tasks assigned to the authenticated user.
+     *
+     * @param authHeader the authorization header containing the JWT token
+     * @param q          the search terms; quotes, {@code or} and {@code -} work as in web search
+     * @param projectId  only tasks of this project, if given
+     * @param status     only tasks with this status, if given
+     * @param cursor     the cursor returned with the previous page; omit for the first page
+     * @param size       the page size, at most {@value #MAX_PAGE_SIZE}
+     * @return the matching tasks, best match first, and the cursor of the next page
+     */
+    @Operation(
+            summary = "Search Tasks",
+            description = "Full-text search over the tasks assigned to the authenticated user, ranked by relevance. Follow next_cursor until it is null.",
+            tags = {"Tasks"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Search results retrieved successfully.",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskSearchPage.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "The query is empty or the cursor is invalid."
+            )
+    })
+    @GetMapping("/search")
+    public TaskSearchPage searchTasks(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam String q,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if (q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Query must not be empty");
+        }
+        try {
+            return taskService.searchTasks(q, projectId, status, cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)), authHeader);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Streams every task of a project owned by the authenticated user.
+     *
+     * @param projectId  the project to export
+     * @param format     NDJSON (default) or JSON
+     * @param authHeader the authorization header containing the JWT token
+     * @return the tasks, written as they are read from the database
+     */
+    @Operation(
+            summary = "Export Project Tasks",
+            description = "Streams all tasks of a project owned by the authenticated user, as NDJSON or a JSON array.",
+            tags = {"Tasks"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks streamed successfully.",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = TaskDTO.class)),
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = TaskDTO.class))
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Project not found for the given ID."
+            )
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam Long projectId,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader("Authorization") String authHeader
+    ) {
+        try {
+            StreamingResponseBody body = taskService.exportProjectTasks(projectId, format, authHeader);
+            return ResponseEntity.ok()
+                    .contentType(format.getMediaType())
+                    .body(body);
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found", e);
+        }
     }
 
     /**
@@ -114,6 +365,7 @@ public class TaskController {
      *
      * @param id         the task ID
      * @param authHeader the authorization header containing the JWT token
+     * @param request    the current request, used to answer If-None-Match with 304
      * @return the task DTO
      */
     @Operation(
@@ -133,12 +385,23 @@ public class TaskController {
             @ApiResponse(
                     responseCode = "404",
                     description = "Task not found for the given ID."
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the ETag sent in If-None-Match."
             )
     })
     @GetMapping("/{id}")
-    public TaskDTO getTaskById(@PathVariable Long id, @RequestHeader("Authorization") String authHeader) {
+    public TaskDTO getTaskById(@PathVariable Long id, @RequestHeader("Authorization") String authHeader, WebRequest request) {
         try {
-            return taskService.getTaskById(id, authHeader);
+            // Only a conditional request pays for the version lookup; otherwise the ETag comes with the task.
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                    && request.checkNotModified(String.valueOf(taskService.getTaskVersion(id, authHeader)))) {
+                return null;
+            }
+            TaskDTO task = taskService.getTaskById(id, authHeader);
+            request.checkNotModified(String.valueOf(task.version()));
+            return task;
         } catch (EntityNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found", e);
         }
@@ -174,10 +437,53 @@ public class TaskController {
     @PutMapping("/{id}")
     public TaskDTO updateTask(@PathVariable Long id, @RequestBody UpdateTaskDTO updateTaskDTO, @RequestHeader("Authorization") String authHeader) {
         try {
-            TaskDTO updatedTask = taskService.updateTask(id, updateTaskDTO, authHeader);
-            messagingTemplate.convertAndSend("/task-status/updates",
-                    "Task updated: " + updatedTask.id() + " - " + updatedTask.status());
-            return updatedTask;
+            return taskService.updateTask(id, updateTaskDTO, authHeader);
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found", e);
+        }
+    }
+
+    /**
+     * Applies the supplied fields to a task of the authenticated user.
+     *
+     * @param id           the task ID
+     * @param patchTaskDTO the fields to change and the version they are based on
+     * @param authHeader   the authorization header containing the JWT token
+     * @return no content, with the new version as ETag
+     */
+    @Operation(
+            summary = "Patch Task",
+            description = "Changes only the fields present in the request. Fails with 409 if the task changed since the given version.",
+            tags = {"Tasks"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "Task patched successfully; the ETag header holds the new version."
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "The version is missing."
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Task not found for the given ID."
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "The task was changed by someone else; reload it and retry."
+            )
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchTask(@PathVariable Long id, @RequestBody PatchTaskDTO patchTaskDTO, @RequestHeader("Authorization") String authHeader) {
+        if (patchTaskDTO.getVersion() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "version is required");
+        }
+        try {
+            long version = taskService.patchTask(id, patchTaskDTO, authHeader);
+            return ResponseEntity.noContent()
+                    .eTag(String.valueOf(version))
+                    .build();
         } catch (EntityNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found", e);
         }
@@ -209,10 +515,14 @@ public class TaskController {
     public void deleteTask(@PathVariable Long id, @RequestHeader("Authorization") String authHeader) {
         try {
             taskService.deleteTask(id, authHeader);
-            messagingTemplate.convertAndSend("/task-status/updates",
-                    "Task deleted: " + id);
         } catch (EntityNotFoundException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found", e);
         }
     }
-}
\ No newline at end of file
+
+    private static void checkBulkSize(List<?> items) {
+        if (items.isEmpty() || items.size() > MAX_BULK_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A batch must hold 1 to " + MAX_BULK_SIZE + " items");
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.taskflow.com.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.proxy.HibernateProxy;
+import org.taskflow.com.enums.TaskPriority;
+import org.taskflow.com.enums.TaskStatus;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -18,7 +20,8 @@ import java.util.Objects;
 public class TaskEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -28,10 +31,10 @@ public class TaskEntity {
     private String description;
 
     @Column(nullable = false)
-    private String priority;
+    private TaskPriority priority;
 
     @Column(nullable = false)
-    private String status;
+    private TaskStatus status;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_to")
@@ -48,6 +51,10 @@ public class TaskEntity {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,49 @@
+package org.taskflow.com.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.taskflow.com.enums.TaskEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row: a task change committed together with the change itself and not yet pushed to subscribers.
+ * Rows are written by {@code INSERT ... SELECT} in {@link org.taskflow.com.repository.TaskEventRepository}
+ * and deleted once the relayed change has been sent, so the table only holds the backlog.
+ */
+@Entity
+@Table(name = "task_events")
+@Getter
+@Setter
+@ToString
+@RequiredArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TaskEventType type;
+
+    @Column(name = "task_version", nullable = false)
+    private Long taskVersion;
+
+    @Column(name = "assignee_email")
+    private String assigneeEmail;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package org.taskflow.com.enums;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    /**
+     * One JSON object per line.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    /**
+     * A single JSON array, written element by element.
+     */
+    JSON(MediaType.APPLICATION_JSON);
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
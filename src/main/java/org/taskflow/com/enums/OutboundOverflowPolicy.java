@@ -0,0 +1,20 @@
+package org.taskflow.com.enums;
+
+/**
+ * What a STOMP session does when its outbound buffer is full because the client reads slower than it is sent to.
+ */
+public enum OutboundOverflowPolicy {
+    /**
+     * Discard the oldest buffered frames until the buffer fits again.
+     */
+    DROP_OLDEST,
+    /**
+     * Merge the buffered task change frames of each subscription into one holding the latest change per task,
+     * then drop the oldest frames if the buffer is still full.
+     */
+    COALESCE,
+    /**
+     * Close the session; the client reconnects and loads the current state.
+     */
+    DISCONNECT
+}
@@ -0,0 +1,10 @@
+package org.taskflow.com.enums;
+
+/**
+ * Kind of change recorded in the task outbox.
+ */
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
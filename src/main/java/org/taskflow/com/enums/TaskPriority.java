@@ -0,0 +1,70 @@
+package org.taskflow.com.enums;
+
+import org.taskflow.com.exception.UnknownTaskValueException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Priority of a task, lowest first. Stored like {@link TaskStatus}: a fixed {@code smallint} code, a label for
+ * clients, and lenient parsing of names and synonyms.
+ */
+public enum TaskPriority {
+    LOW(1, "Low", "MINOR"),
+    MEDIUM(2, "Medium", "NORMAL"),
+    HIGH(3, "High", "MAJOR"),
+    CRITICAL(4, "Critical", "URGENT", "HIGHEST");
+
+    private static final Map<String, TaskPriority> BY_NAME = new HashMap<>();
+    private static final TaskPriority[] BY_CODE = new TaskPriority[values().length + 1];
+
+    static {
+        for (TaskPriority priority : values()) {
+            BY_NAME.put(priority.name(), priority);
+            for (String alias : priority.aliases) {
+                BY_NAME.put(alias, priority);
+            }
+            BY_CODE[priority.code] = priority;
+        }
+    }
+
+    private final short code;
+    private final String label;
+    private final String[] aliases;
+
+    TaskPriority(int code, String label, String... aliases) {
+        this.code = (short) code;
+        this.label = label;
+        this.aliases = aliases;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the priority named by {@code value}, or null if {@code value} is null.
+     * @throws UnknownTaskValueException if no priority goes by that name.
+     */
+    public static TaskPriority from(String value) {
+        if (value == null) {
+            return null;
+        }
+        TaskPriority priority = BY_NAME.get(TaskStatus.normalize(value));
+        if (priority == null) {
+            throw new UnknownTaskValueException("priority", value);
+        }
+        return priority;
+    }
+
+    public static TaskPriority fromCode(short code) {
+        if (code <= 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown task priority code " + code);
+        }
+        return BY_CODE[code];
+    }
+}
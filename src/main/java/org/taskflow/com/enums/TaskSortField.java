@@ -0,0 +1,23 @@
+package org.taskflow.com.enums;
+
+/**
+ * Fields the task query API can sort by, mapped to {@code TaskEntity} properties.
+ */
+public enum TaskSortField {
+    ID("id"),
+    TITLE("title"),
+    PRIORITY("priority"),
+    STATUS("status"),
+    DEADLINE("deadline"),
+    CREATED_AT("createdAt");
+
+    private final String property;
+
+    TaskSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+}
@@ -0,0 +1,76 @@
+package org.taskflow.com.enums;
+
+import org.taskflow.com.exception.UnknownTaskValueException;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Workflow state of a task. Stored as its {@code code} in a {@code smallint} column, so the codes must never change;
+ * they also give the sort order. Clients see and may send the {@code label}; parsing also accepts the constant name
+ * and a few common synonyms, ignoring case, spaces and dashes.
+ */
+public enum TaskStatus {
+    OPEN(1, "Open", "PENDING", "TODO", "TO_DO", "NEW"),
+    IN_PROGRESS(2, "In Progress", "INPROGRESS", "STARTED", "DOING"),
+    BLOCKED(3, "Blocked", "ON_HOLD"),
+    DONE(4, "Done", "COMPLETED", "COMPLETE", "CLOSED", "RESOLVED");
+
+    private static final Map<String, TaskStatus> BY_NAME = new HashMap<>();
+    private static final TaskStatus[] BY_CODE = new TaskStatus[values().length + 1];
+
+    static {
+        for (TaskStatus status : values()) {
+            BY_NAME.put(status.name(), status);
+            for (String alias : status.aliases) {
+                BY_NAME.put(alias, status);
+            }
+            BY_CODE[status.code] = status;
+        }
+    }
+
+    private final short code;
+    private final String label;
+    private final String[] aliases;
+
+    TaskStatus(int code, String label, String... aliases) {
+        this.code = (short) code;
+        this.label = label;
+        this.aliases = aliases;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the status named by {@code value}, or null if {@code value} is null.
+     * @throws UnknownTaskValueException if no status goes by that name.
+     */
+    public static TaskStatus from(String value) {
+        if (value == null) {
+            return null;
+        }
+        TaskStatus status = BY_NAME.get(normalize(value));
+        if (status == null) {
+            throw new UnknownTaskValueException("status", value);
+        }
+        return status;
+    }
+
+    public static TaskStatus fromCode(short code) {
+        if (code <= 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown task status code " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    static String normalize(String value) {
+        return value.trim().toUpperCase(Locale.ROOT).replaceAll("[\\s-]+", "_");
+    }
+}
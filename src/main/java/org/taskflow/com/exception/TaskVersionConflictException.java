@@ -0,0 +1,7 @@
+package org.taskflow.com.exception;
+
+public class TaskVersionConflictException extends RuntimeException {
+    public TaskVersionConflictException(Long taskId, long expectedVersion) {
+        super("Task " + taskId + " has changed since version " + expectedVersion);
+    }
+}
@@ -0,0 +1,7 @@
+package org.taskflow.com.exception;
+
+public class UnknownTaskValueException extends RuntimeException {
+    public UnknownTaskValueException(String field, String value) {
+        super("Unknown task " + field + " '" + value + "'");
+    }
+}
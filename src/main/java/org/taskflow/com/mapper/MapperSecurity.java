@@ -3,6 +3,7 @@ package org.taskflow.com.mapper;
 import org.mapstruct.Mapper;
 import org.taskflow.com.entity.UserEntity;
 import org.taskflow.com.model.SessionInfo;
+import org.taskflow.com.model.UserSnapshot;
 import org.taskflow.com.service.impl.UserDetailsImpl;
 
 import static org.mapstruct.ReportingPolicy.IGNORE;
@@ -15,10 +16,12 @@ public interface MapperSecurity {
                 .build();
     }
 
-    default UserDetailsImpl toUserDetailsImpl(UserEntity user) {
+    default UserDetailsImpl toUserDetailsImpl(UserSnapshot user) {
         return new UserDetailsImpl(
-                user.getEmail(),
-                user.getPassword(),
-                user.getRole());
+                user.email(),
+                user.password(),
+                user.role());
     }
+
+    UserSnapshot toUserSnapshot(UserEntity user);
 }
\ No newline at end of file
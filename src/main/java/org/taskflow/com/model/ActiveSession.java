@@ -0,0 +1,12 @@
+package org.taskflow.com.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ActiveSession(
+        @Schema(description = "Opaque identifier of the session", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+        String id,
+
+        @Schema(description = "Email of the user the session belongs to", example = "user@example.com")
+        String email
+) {
+}
@@ -0,0 +1,13 @@
+package org.taskflow.com.model;
+
+import org.taskflow.com.enums.Role;
+
+/**
+ * Identity of the caller, resolved once per request.
+ */
+public record AuthenticatedUser(
+        Long id,
+        String email,
+        Role role
+) {
+}
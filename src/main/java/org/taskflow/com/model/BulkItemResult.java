@@ -0,0 +1,29 @@
+package org.taskflow.com.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record BulkItemResult(
+        @Schema(description = "Position of the item in the request", example = "0")
+        int index,
+
+        @Schema(description = "The ID of the task, or null if it was not created", example = "1")
+        Long id,
+
+        @Schema(description = "HTTP status the item would have had as a single request", example = "200")
+        int status,
+
+        @Schema(description = "Why the item failed, or null on success", example = "Task not found")
+        String error
+) {
+    public static BulkItemResult ok(int index, Long id, int status) {
+        return new BulkItemResult(index, id, status, null);
+    }
+
+    public static BulkItemResult failed(int index, Long id, int status, String error) {
+        return new BulkItemResult(index, id, status, error);
+    }
+
+    public boolean succeeded() {
+        return error == null;
+    }
+}
@@ -0,0 +1,21 @@
+package org.taskflow.com.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record BulkResult(
+        @Schema(description = "One result per request item, in request order")
+        List<BulkItemResult> items,
+
+        @Schema(description = "Number of items that were applied", example = "998")
+        int succeeded,
+
+        @Schema(description = "Number of items that were rejected", example = "2")
+        int failed
+) {
+    public static BulkResult of(List<BulkItemResult> items) {
+        int succeeded = (int) items.stream().filter(BulkItemResult::succeeded).count();
+        return new BulkResult(items, succeeded, items.size() - succeeded);
+    }
+}
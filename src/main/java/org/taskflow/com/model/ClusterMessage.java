@@ -0,0 +1,8 @@
+package org.taskflow.com.model;
+
+/**
+ * A broker message on its way to the other nodes: the destination and the already serialized payload,
+ * plus the node it came from and when it was sent, in epoch milliseconds.
+ */
+public record ClusterMessage(String origin, String destination, String contentType, byte[] payload, long sentAt) {
+}
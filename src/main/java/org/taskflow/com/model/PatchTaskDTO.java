@@ -0,0 +1,61 @@
+package org.taskflow.com.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fields to change on a task. Title, priority and status cannot be cleared, so a missing or null value keeps them.
+ * Description and deadline can: Jackson calls their setters only for fields present in the request, which marks
+ * them as sent, so a field sent as {@code null} clears the value while an omitted one keeps it.
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+public class PatchTaskDTO {
+
+    @Schema(description = "The new title of the task; omit to keep it", example = "Update website layout")
+    private String title;
+
+    @Schema(description = "The new description of the task; omit to keep it, null to clear it", example = "Make the homepage more user-friendly.")
+    private String description;
+
+    @Schema(description = "The new priority of the task; omit to keep it", example = "HIGH")
+    private String priority;
+
+    @Schema(description = "The new status of the task; omit to keep it", example = "DONE")
+    private String status;
+
+    @Schema(description = "The new deadline for the task; omit to keep it, null to clear it", example = "2025-03-10T15:30:00")
+    private LocalDateTime deadline;
+
+    @Schema(description = "The version of the task these changes are based on", example = "3", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long version;
+
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private boolean descriptionSent;
+
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    private boolean deadlineSent;
+
+    public void setDescription(String description) {
+        this.description = description;
+        this.descriptionSent = true;
+    }
+
+    public void setDeadline(LocalDateTime deadline) {
+        this.deadline = deadline;
+        this.deadlineSent = true;
+    }
+}
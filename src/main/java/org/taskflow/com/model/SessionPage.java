@@ -0,0 +1,14 @@
+package org.taskflow.com.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record SessionPage(
+        @Schema(description = "Sessions on this page; the count may differ slightly from the requested size")
+        List<ActiveSession> sessions,
+
+        @Schema(description = "Cursor for the next page, or null when the scan is complete", example = "17")
+        String nextCursor
+) {
+}
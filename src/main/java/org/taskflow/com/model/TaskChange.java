@@ -0,0 +1,18 @@
+package org.taskflow.com.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.taskflow.com.enums.TaskEventType;
+
+public record TaskChange(
+        @Schema(description = "The ID of the changed task", example = "1")
+        Long taskId,
+
+        @Schema(description = "What happened to the task", example = "UPDATED")
+        TaskEventType type,
+
+        @Schema(description = "Version of the task when the change was committed; later changes have higher versions", example = "4")
+        Long version,
+
+        @Schema(description = "The task as it is now; null once it has been deleted")
+        TaskDTO task
+) {}
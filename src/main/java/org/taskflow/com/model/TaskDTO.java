@@ -1,6 +1,8 @@
 package org.taskflow.com.model;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.taskflow.com.enums.TaskPriority;
+import org.taskflow.com.enums.TaskStatus;
 
 import java.time.LocalDateTime;
 
@@ -27,5 +29,17 @@ public record TaskDTO(
         LocalDateTime deadline,
 
         @Schema(description = "The date and time when the task was created", example = "2025-01-01T10:00:00")
-        LocalDateTime createdAt
-) {}
\ No newline at end of file
+        LocalDateTime createdAt,
+
+        @Schema(description = "Version of the task, increased on every change; send it back when patching", example = "3")
+        Long version
+) {
+    /**
+     * Builds the DTO from the stored enums; used by the JPQL and Criteria projections, which select the entity attributes.
+     */
+    public TaskDTO(Long id, String title, String description, TaskPriority priority, TaskStatus status,
+                   String assignedToEmail, LocalDateTime deadline, LocalDateTime createdAt, Long version) {
+        this(id, title, description, priority == null ? null : priority.getLabel(), status == null ? null : status.getLabel(),
+                assignedToEmail, deadline, createdAt, version);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package org.taskflow.com.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+public record TaskFilter(
+        @Schema(description = "Only tasks of this project", example = "1")
+        Long projectId,
+
+        @Schema(description = "Only tasks with this status", example = "IN_PROGRESS")
+        String status,
+
+        @Schema(description = "Only tasks with this priority", example = "HIGH")
+        String priority,
+
+        @Schema(description = "Only tasks assigned to this user", example = "1")
+        Long assigneeId,
+
+        @Schema(description = "Only tasks due at or after this time", example = "2025-02-01T00:00:00")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime deadlineFrom,
+
+        @Schema(description = "Only tasks due at or before this time", example = "2025-02-28T23:59:59")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        LocalDateTime deadlineTo
+) {
+}
@@ -0,0 +1,14 @@
+package org.taskflow.com.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record TaskPage(
+        @Schema(description = "Tasks on this page, ordered by ID")
+        List<TaskDTO> items,
+
+        @Schema(description = "Cursor for the next page, or null when this is the last page", example = "42")
+        Long nextCursor
+) {
+}
@@ -0,0 +1,17 @@
+package org.taskflow.com.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record TaskQueryPage(
+        @Schema(description = "Tasks on this page, in the requested order")
+        List<TaskDTO> items,
+
+        @Schema(description = "Number of this page, starting at 0", example = "0")
+        int page,
+
+        @Schema(description = "Whether another page follows", example = "true")
+        boolean hasNext
+) {
+}
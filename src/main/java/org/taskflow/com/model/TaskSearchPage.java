@@ -0,0 +1,14 @@
+package org.taskflow.com.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record TaskSearchPage(
+        @Schema(description = "Matching tasks on this page, best match first")
+        List<TaskDTO> items,
+
+        @Schema(description = "Cursor for the next page, or null when this is the last page", example = "0.0607927:42")
+        String nextCursor
+) {
+}
@@ -0,0 +1,14 @@
+package org.taskflow.com.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+public record UserSession(
+        @Schema(description = "Opaque identifier of the session", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+        String id,
+
+        @Schema(description = "The moment the session's token expires", example = "2025-01-01T13:00:00Z")
+        Instant expiresAt
+) {
+}
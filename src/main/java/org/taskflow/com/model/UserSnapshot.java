@@ -0,0 +1,14 @@
+package org.taskflow.com.model;
+
+import org.taskflow.com.enums.Role;
+
+/**
+ * The user fields needed to authenticate and authorize a caller, small enough to cache across requests.
+ */
+public record UserSnapshot(
+        Long id,
+        String email,
+        String password,
+        Role role
+) {
+}
@@ -1,15 +1,57 @@
 package org.taskflow.com.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.taskflow.com.entity.ProjectEntity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<ProjectEntity, Long> {
     List<ProjectEntity> findByCreatedBy_Email(String email);
 
     Optional<ProjectEntity> findByIdAndCreatedBy_Email(Long id, String email);
+
+    boolean existsByIdAndCreatedBy_Email(Long id, String email);
+
+    @Query("SELECT p.id FROM ProjectEntity p WHERE p.createdBy.id = :userId")
+    List<Long> findIdsCreatedBy(@Param("userId") Long userId);
+
+    @Query("SELECT p.version FROM ProjectEntity p WHERE p.id = :id AND p.createdBy.email = :email")
+    Optional<Long> findVersion(@Param("id") Long id, @Param("email") String email);
+
+    /**
+     * MD5 over the ID and version of every project of the user. It changes whenever one of them is created,
+     * updated or deleted, so it can stand in for the whole list without reading it.
+     */
+    @Query(value = "SELECT md5(COALESCE(string_agg(p.id || ':' || p.version, ',' ORDER BY p.id), '')) " +
+            "FROM projects p JOIN users u ON u.id = p.created_by WHERE u.email = :email", nativeQuery = true)
+    String findListFingerprint(@Param("email") String email);
+
+    /**
+     * Whether the user created the project or has a task in it, i.e. may see its task changes.
+     */
+    @Query("SELECT COUNT(p) > 0 FROM ProjectEntity p WHERE p.id = :id AND (p.createdBy.email = :email " +
+            "OR EXISTS (SELECT 1 FROM TaskEntity t WHERE t.project = p AND t.assignedTo.email = :email))")
+    boolean isVisibleTo(@Param("id") Long id, @Param("email") String email);
+
+    /**
+     * Whether the project exists and the user created it or has a task in it, i.e. may add tasks to it.
+     */
+    @Query("SELECT COUNT(p) > 0 FROM ProjectEntity p WHERE p.id = :id AND (p.createdBy.id = :userId " +
+            "OR EXISTS (SELECT 1 FROM TaskEntity t WHERE t.project = p AND t.assignedTo.id = :userId))")
+    boolean isAccessibleTo(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Returns which of the given IDs belong to a project the user created or has a task in, in one query.
+     * Missing projects and those of other users are left out alike.
+     */
+    @Query("SELECT p.id FROM ProjectEntity p WHERE p.id IN :ids AND (p.createdBy.id = :userId " +
+            "OR EXISTS (SELECT 1 FROM TaskEntity t WHERE t.project = p AND t.assignedTo.id = :userId))")
+    Set<Long> findAccessibleIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
 }
\ No newline at end of file
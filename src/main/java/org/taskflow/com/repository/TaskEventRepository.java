@@ -0,0 +1,52 @@
+package org.taskflow.com.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.taskflow.com.entity.TaskEventEntity;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskEventRepository extends JpaRepository<TaskEventEntity, Long> {
+
+    /**
+     * Adds one outbox row per task, copying project, version and assignee email from the task row in the same statement.
+     * Pending entity changes are flushed first, so the rows see the state the caller's transaction will commit.
+     * Deletions must be recorded before the tasks are removed; they get the task's version plus one, so a
+     * deletion is always newer than the last update of the task.
+     *
+     * @param type the {@link org.taskflow.com.enums.TaskEventType} name.
+     * @return the number of rows added.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO task_events (task_id, project_id, type, task_version, assignee_email) " +
+            "SELECT t.id, t.project_id, :type, CASE WHEN :type = 'DELETED' THEN t.version + 1 ELSE t.version END, u.email " +
+            "FROM tasks t " +
+            "LEFT JOIN users u ON u.id = t.assigned_to WHERE t.id IN (:taskIds)", nativeQuery = true)
+    int record(@Param("type") String type, @Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * The oldest pending events that are not claimed, or whose claim has expired, locked for the current transaction.
+     * Rows another relay has already locked are skipped rather than waited for, so several nodes can drain the
+     * outbox at once without sending twice.
+     */
+    @Query(value = "SELECT * FROM task_events WHERE claimed_until IS NULL OR claimed_until < LOCALTIMESTAMP " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TaskEventEntity> lockBatch(@Param("limit") int limit);
+
+    /**
+     * Hides events from {@link #lockBatch} for the lease, measured on the database clock, while their changes wait
+     * to be sent. Events still present when the lease runs out are relayed again.
+     *
+     * @param leaseSeconds how long the claim holds.
+     * @return the number of rows claimed.
+     */
+    @Modifying
+    @Query(value = "UPDATE task_events SET claimed_until = LOCALTIMESTAMP + make_interval(secs => :leaseSeconds) " +
+            "WHERE id IN (:ids)", nativeQuery = true)
+    int claim(@Param("ids") Collection<Long> ids, @Param("leaseSeconds") long leaseSeconds);
+}
@@ -0,0 +1,21 @@
+package org.taskflow.com.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.taskflow.com.entity.TaskEntity;
+import org.taskflow.com.model.TaskDTO;
+
+import java.util.List;
+
+/**
+ * Dynamic task queries that return {@link TaskDTO} rows instead of entities.
+ */
+public interface TaskQueryRepository {
+    /**
+     * Reads the tasks matching a specification as DTOs, with the assignee email joined in.
+     *
+     * @param offset number of matching rows to skip
+     * @param limit  maximum number of rows to return
+     */
+    List<TaskDTO> findDtos(Specification<TaskEntity> specification, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,46 @@
+package org.taskflow.com.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.taskflow.com.entity.TaskEntity;
+import org.taskflow.com.entity.UserEntity;
+import org.taskflow.com.model.TaskDTO;
+
+import java.util.List;
+
+class TaskQueryRepositoryImpl implements TaskQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskDTO> findDtos(Specification<TaskEntity> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDTO> query = cb.createQuery(TaskDTO.class);
+        Root<TaskEntity> task = query.from(TaskEntity.class);
+        Join<TaskEntity, UserEntity> assignee = task.join("assignedTo", JoinType.LEFT);
+
+        query.select(cb.construct(TaskDTO.class,
+                task.get("id"), task.get("title"), task.get("description"), task.get("priority"), task.get("status"),
+                assignee.get("email"), task.get("deadline"), task.get("createdAt"), task.get("version")));
+        Predicate predicate = specification.toPredicate(task, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, task, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
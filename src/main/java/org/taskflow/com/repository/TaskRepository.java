@@ -1,22 +1,123 @@
 package org.taskflow.com.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.taskflow.com.entity.TaskEntity;
+import org.taskflow.com.enums.TaskPriority;
+import org.taskflow.com.enums.TaskStatus;
+import org.taskflow.com.model.TaskDTO;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<TaskEntity, Long> {
-    Optional<TaskEntity> findByAssignedTo_Email(String emailByToken);
+public interface TaskRepository extends JpaRepository<TaskEntity, Long>, TaskQueryRepository {
+    /**
+     * Select clause shared by the read queries: builds {@link TaskDTO} rows straight from the columns,
+     * with the assignee email joined in, so no entity is hydrated and no lazy association is touched.
+     * Queries using it must alias the task {@code t} and the assignee {@code a}.
+     */
+    String SELECT_TASK_DTO = "SELECT new org.taskflow.com.model.TaskDTO(t.id, t.title, t.description, t.priority, t.status, " +
+            "a.email, t.deadline, t.createdAt, t.version) ";
+
+    /**
+     * Keyset page of the tasks assigned to a user: the next {@code limit} tasks with an ID above {@code afterId}.
+     * Served by the {@code (assigned_to, id)} index, so the cost does not grow with the page number.
+     */
+    @Query(SELECT_TASK_DTO + "FROM TaskEntity t JOIN t.assignedTo a WHERE a.id = :userId AND t.id > :afterId ORDER BY t.id")
+    List<TaskDTO> findPageByAssignee(@Param("userId") Long userId, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SELECT_TASK_DTO + "FROM TaskEntity t JOIN t.assignedTo a WHERE t.id = :taskId AND a.email = :email")
+    Optional<TaskDTO> findDtoByIdAndAssignee(@Param("taskId") Long taskId, @Param("email") String email);
+
+    @Query(SELECT_TASK_DTO + "FROM TaskEntity t LEFT JOIN t.assignedTo a WHERE t.id IN :taskIds")
+    List<TaskDTO> findDtosByIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * One page of full-text matches among the tasks assigned to a user, as {@code [id, rank]} rows ordered by
+     * rank descending, then ID. Matching uses the GIN index on {@code search_vector}; the page continues after
+     * {@code (afterRank, afterId)} when those are set. The query accepts web-search syntax: quotes, {@code or}, {@code -}.
+     */
+    @Query(value = "SELECT r.id, r.rank FROM (" +
+            "SELECT t.id, ts_rank(t.search_vector, q.query) AS rank " +
+            "FROM tasks t, websearch_to_tsquery('english', :query) AS q(query) " +
+            "WHERE t.assigned_to = :userId AND t.search_vector @@ q.query " +
+            "AND (CAST(:projectId AS BIGINT) IS NULL OR t.project_id = CAST(:projectId AS BIGINT)) " +
+            "AND (CAST(:status AS SMALLINT) IS NULL OR t.status = CAST(:status AS SMALLINT))" +
+            ") r " +
+            "WHERE CAST(:afterRank AS REAL) IS NULL OR r.rank < CAST(:afterRank AS REAL) " +
+            "OR (r.rank = CAST(:afterRank AS REAL) AND r.id > CAST(:afterId AS BIGINT)) " +
+            "ORDER BY r.rank DESC, r.id LIMIT :limit", nativeQuery = true)
+    List<Object[]> searchPage(@Param("userId") Long userId, @Param("query") String query,
+                              @Param("projectId") Long projectId, @Param("status") Short status,
+                              @Param("afterRank") Float afterRank, @Param("afterId") Long afterId,
+                              @Param("limit") int limit);
 
     Optional<TaskEntity> findByIdAndAssignedTo_Email(Long taskId, String emailByToken);
 
-    List<TaskEntity> findByDeadlineBetween(LocalDateTime deadlineStart, LocalDateTime deadlineEnd);
+    boolean existsByIdAndAssignedTo_Id(Long taskId, Long userId);
+
+    @Query("SELECT t.version FROM TaskEntity t JOIN t.assignedTo a WHERE t.id = :taskId AND a.email = :email")
+    Optional<Long> findVersion(@Param("taskId") Long taskId, @Param("email") String email);
+
+    /**
+     * Applies the non-null title, priority and status to a task of the user in a single statement, provided it is
+     * still at {@code version}, and bumps the version. Description and deadline are written only when their
+     * {@code set} flag is true, which lets them be set to null.
+     *
+     * @return 1 if the task was updated, 0 if it does not exist, is assigned to someone else or has a newer version.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE TaskEntity t SET t.title = COALESCE(:title, t.title), " +
+            "t.description = CASE WHEN :setDescription = true THEN :description ELSE t.description END, " +
+            "t.priority = COALESCE(:priority, t.priority), " +
+            "t.status = COALESCE(:status, t.status), " +
+            "t.deadline = CASE WHEN :setDeadline = true THEN :deadline ELSE t.deadline END, " +
+            "t.version = t.version + 1 " +
+            "WHERE t.id = :taskId AND t.assignedTo.id = :userId AND t.version = :version")
+    int patch(@Param("taskId") Long taskId, @Param("userId") Long userId, @Param("version") long version,
+              @Param("title") String title, @Param("setDescription") boolean setDescription,
+              @Param("description") String description, @Param("priority") TaskPriority priority,
+              @Param("status") TaskStatus status, @Param("setDeadline") boolean setDeadline,
+              @Param("deadline") LocalDateTime deadline);
+
+    List<TaskEntity> findByIdInAndAssignedTo_Id(Collection<Long> taskIds, Long userId);
+
+    /**
+     * Returns which of the given task IDs are assigned to the user, in one query.
+     */
+    @Query("SELECT t.id FROM TaskEntity t WHERE t.id IN :taskIds AND t.assignedTo.id = :userId")
+    Set<Long> findIdsAssignedTo(@Param("taskIds") Collection<Long> taskIds, @Param("userId") Long userId);
+
+    /**
+     * Streams every task of a project as DTOs, in ID order. Rows are read through a server-side cursor
+     * 500 at a time and never become managed entities, so memory stays flat.
+     * Must be consumed inside a transaction, which Postgres needs to keep the cursor open.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_TASK_DTO + "FROM TaskEntity t LEFT JOIN t.assignedTo a WHERE t.project.id = :projectId ORDER BY t.id")
+    Stream<TaskDTO> streamByProject(@Param("projectId") Long projectId);
+
+    /**
+     * Tasks with an assignee whose deadline falls in the given window, with the assignee email already joined in.
+     * The explicit assignee check lets Postgres answer it from the partial index {@code idx_tasks_upcoming_deadline}.
+     */
+    @Query(SELECT_TASK_DTO + "FROM TaskEntity t JOIN t.assignedTo a "
+            + "WHERE t.assignedTo IS NOT NULL AND t.deadline BETWEEN :deadlineStart AND :deadlineEnd")
+    List<TaskDTO> findDueBetween(@Param("deadlineStart") LocalDateTime deadlineStart, @Param("deadlineEnd") LocalDateTime deadlineEnd);
 
     @Query("SELECT t.status, COUNT(t) FROM TaskEntity t WHERE t.project.id = :projectId GROUP BY t.status")
     List<Object[]> countTasksByStatusForProject(@Param("projectId") Long projectId);
@@ -0,0 +1,75 @@
+package org.taskflow.com.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.taskflow.com.entity.TaskEntity;
+import org.taskflow.com.enums.TaskPriority;
+import org.taskflow.com.enums.TaskStatus;
+import org.taskflow.com.model.TaskFilter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Building blocks for task queries. Every filter compares a plain column of {@code tasks}, so the
+ * {@code (assigned_to, status, deadline)} and {@code (project_id, status)} indexes can serve them.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Tasks the user may see: the ones assigned to them and every task of a project they created. The IDs of those
+     * projects are looked up by the caller, so both sides of the OR compare a column of {@code tasks} and Postgres
+     * can combine the assignee and project indexes instead of joining {@code projects} for every task.
+     *
+     * @param ownedProjectIds the projects the user created, see {@link ProjectRepository#findIdsCreatedBy}.
+     */
+    public static Specification<TaskEntity> visibleTo(Long userId, Collection<Long> ownedProjectIds) {
+        if (ownedProjectIds.isEmpty()) {
+            return assignedTo(userId);
+        }
+        return (task, query, cb) -> cb.or(
+                cb.equal(task.get("assignedTo").get("id"), userId),
+                task.get("project").get("id").in(ownedProjectIds));
+    }
+
+    /**
+     * Combines the set fields of a filter; fields left null do not restrict the result.
+     *
+     * @throws org.taskflow.com.exception.UnknownTaskValueException if the status or priority is not recognized.
+     */
+    public static Specification<TaskEntity> matching(TaskFilter filter) {
+        return Specification.allOf(
+                inProject(filter.projectId()),
+                hasStatus(TaskStatus.from(filter.status())),
+                hasPriority(TaskPriority.from(filter.priority())),
+                assignedTo(filter.assigneeId()),
+                dueFrom(filter.deadlineFrom()),
+                dueTo(filter.deadlineTo()));
+    }
+
+    public static Specification<TaskEntity> inProject(Long projectId) {
+        return projectId == null ? null : (task, query, cb) -> cb.equal(task.get("project").get("id"), projectId);
+    }
+
+    public static Specification<TaskEntity> hasStatus(TaskStatus status) {
+        return status == null ? null : (task, query, cb) -> cb.equal(task.get("status"), status);
+    }
+
+    public static Specification<TaskEntity> hasPriority(TaskPriority priority) {
+        return priority == null ? null : (task, query, cb) -> cb.equal(task.get("priority"), priority);
+    }
+
+    public static Specification<TaskEntity> assignedTo(Long userId) {
+        return userId == null ? null : (task, query, cb) -> cb.equal(task.get("assignedTo").get("id"), userId);
+    }
+
+    public static Specification<TaskEntity> dueFrom(LocalDateTime from) {
+        return from == null ? null : (task, query, cb) -> cb.greaterThanOrEqualTo(task.get("deadline"), from);
+    }
+
+    public static Specification<TaskEntity> dueTo(LocalDateTime to) {
+        return to == null ? null : (task, query, cb) -> cb.lessThanOrEqualTo(task.get("deadline"), to);
+    }
+}
@@ -0,0 +1,23 @@
+package org.taskflow.com.service;
+
+import org.taskflow.com.model.ClusterMessage;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries WebSocket broker messages between the nodes of the cluster.
+ * The implementation is picked by {@code app.websocket.cluster.bus}.
+ */
+public interface ClusterMessageBus {
+
+    /**
+     * Sends a message to every node, including this one; receivers skip their own messages by origin.
+     */
+    void publish(ClusterMessage message);
+
+    /**
+     * Registers a listener for the messages of all nodes. Messages for the same destination
+     * reach a listener one at a time, in the order they were published.
+     */
+    void subscribe(Consumer<ClusterMessage> listener);
+}
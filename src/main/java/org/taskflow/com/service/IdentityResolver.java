@@ -0,0 +1,17 @@
+package org.taskflow.com.service;
+
+import org.taskflow.com.model.AuthenticatedUser;
+
+/**
+ * Turns a bearer header into the identity of the caller.
+ * The implementation is picked by {@code app.security.identity-mode}.
+ */
+public interface IdentityResolver {
+
+    /**
+     * @param authHeader the {@code Authorization} header value, including the {@code Bearer } prefix.
+     * @return the caller, or null if the token is unknown, expired or revoked.
+     * Resolvers that only know the email leave id and role null; they are loaded on demand.
+     */
+    AuthenticatedUser resolve(String authHeader);
+}
@@ -11,8 +11,12 @@ public interface ProjectService {
 
     List<ProjectDTO> getProjects(String authHeader);
 
+    String getProjectsFingerprint(String authHeader);
+
     ProjectDTO getProjectById(Long projectId, String authHeader);
 
+    long getProjectVersion(Long projectId, String authHeader);
+
     ProjectDTO updateProject(Long projectId, UpdateProjectDTO updateProjectDTO, String authHeader);
 
     void deleteProject(Long projectId, String authHeader);
@@ -0,0 +1,9 @@
+package org.taskflow.com.service;
+
+import java.time.Instant;
+
+public interface RevocationService {
+    void revoke(String sessionId, Instant expiresAt);
+
+    boolean isRevoked(String sessionId);
+}
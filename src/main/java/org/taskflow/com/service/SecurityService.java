@@ -3,8 +3,10 @@ package org.taskflow.com.service;
 import org.springframework.security.core.Authentication;
 import org.taskflow.com.model.NewUser;
 import org.taskflow.com.model.SessionInfo;
+import org.taskflow.com.model.UserSession;
 import org.taskflow.com.service.impl.UserDetailsImpl;
 
+import java.util.List;
 import java.util.Objects;
 
 public interface SecurityService {
@@ -12,6 +14,10 @@ public interface SecurityService {
 
     SessionInfo loginInfo(Authentication auth);
 
+    List<UserSession> getSessions(String authHeader);
+
+    void revokeSessions(String authHeader);
+
     default boolean checkingLoggedAndToken(long userId, Authentication auth) {
         return Objects.equals(auth.getName(), String.valueOf(userId));
     }
@@ -1,7 +1,18 @@
 package org.taskflow.com.service;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.taskflow.com.enums.ExportFormat;
+import org.taskflow.com.enums.TaskSortField;
+import org.taskflow.com.model.BulkResult;
+import org.taskflow.com.model.BulkUpdateTaskDTO;
 import org.taskflow.com.model.CreateTaskDTO;
+import org.taskflow.com.model.PatchTaskDTO;
 import org.taskflow.com.model.TaskDTO;
+import org.taskflow.com.model.TaskFilter;
+import org.taskflow.com.model.TaskPage;
+import org.taskflow.com.model.TaskQueryPage;
+import org.taskflow.com.model.TaskSearchPage;
 import org.taskflow.com.model.UpdateTaskDTO;
 
 import java.util.List;
@@ -9,11 +20,27 @@ import java.util.List;
 public interface TaskService {
     TaskDTO createTask(CreateTaskDTO createTaskDTO, String authHeader);
 
-    List<TaskDTO> getTasks(String authHeader);
+    TaskPage getTasks(String authHeader, Long cursor, int size);
+
+    TaskQueryPage queryTasks(TaskFilter filter, TaskSortField sort, Sort.Direction direction, int page, int size, String authHeader);
+
+    TaskSearchPage searchTasks(String query, Long projectId, String status, String cursor, int size, String authHeader);
 
     TaskDTO getTaskById(Long taskId, String authHeader);
 
+    long getTaskVersion(Long taskId, String authHeader);
+
     TaskDTO updateTask(Long taskId, UpdateTaskDTO updateTaskDTO, String authHeader);
 
+    long patchTask(Long taskId, PatchTaskDTO patchTaskDTO, String authHeader);
+
     void deleteTask(Long taskId, String authHeader);
+
+    BulkResult createTasks(List<CreateTaskDTO> createTaskDTOs, String authHeader);
+
+    BulkResult updateTasks(List<BulkUpdateTaskDTO> updateTaskDTOs, String authHeader);
+
+    BulkResult deleteTasks(List<Long> taskIds, String authHeader);
+
+    StreamingResponseBody exportProjectTasks(Long projectId, ExportFormat format, String authHeader);
 }
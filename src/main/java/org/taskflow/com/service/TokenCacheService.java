@@ -1,13 +1,25 @@
 package org.taskflow.com.service;
 
-import java.util.Map;
+import org.taskflow.com.model.ActiveSession;
+import org.taskflow.com.model.SessionPage;
+import org.taskflow.com.model.UserSession;
+
+import java.time.Instant;
+import java.util.List;
 
 public interface TokenCacheService {
-    void saveToken(String token, String email);
+    void saveToken(String token, String email, Instant expiresAt);
 
     String getEmailByToken(String token);
 
     void deleteToken(String token);
 
-    Map<String, String> getAllTokens();
+    List<UserSession> getSessions(String email);
+
+    void deleteSessions(String email);
+
+    /**
+     * Returns one page of active sessions; pass the returned cursor to continue, starting from {@code "0"}.
+     */
+    SessionPage getSessionPage(String cursor, int size);
 }
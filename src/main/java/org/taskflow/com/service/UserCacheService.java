@@ -0,0 +1,13 @@
+package org.taskflow.com.service;
+
+import org.taskflow.com.model.UserSnapshot;
+
+import java.util.Optional;
+
+public interface UserCacheService {
+    Optional<UserSnapshot> findByEmail(String email);
+
+    Optional<UserSnapshot> findById(Long id);
+
+    void evict(UserSnapshot user);
+}
@@ -2,6 +2,7 @@ package org.taskflow.com.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.taskflow.com.enums.TaskStatus;
 import org.taskflow.com.repository.TaskRepository;
 import org.taskflow.com.service.AnalyticsService;
 
@@ -39,7 +40,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     private Map<String, Long> mapResultsToStatusCount(List<Object[]> results) {
         return results.stream()
                 .collect(Collectors.toMap(
-                        result -> (String) result[0],
+                        result -> ((TaskStatus) result[0]).getLabel(),
                         result -> (Long) result[1]
                 ));
     }
@@ -0,0 +1,45 @@
+package org.taskflow.com.service.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over session ids. Safe for concurrent {@link #put} and {@link #mightContain}.
+ * <p>
+ * Keys must be hex SHA-256 digests (see {@link TokenCacheServiceImpl#sessionId}); their first 128 bits
+ * are already uniformly distributed, so they are used directly as the two hashes for double hashing.
+ */
+final class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(int expectedEntries, double falsePositiveRate) {
+        int entries = Math.max(1, expectedEntries);
+        long bits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+        this.bitCount = words.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+    }
+
+    void put(String sessionId) {
+        long h1 = Long.parseUnsignedLong(sessionId, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(sessionId, 16, 32, 16);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            words.accumulateAndGet((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+    }
+
+    boolean mightContain(String sessionId) {
+        long h1 = Long.parseUnsignedLong(sessionId, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(sessionId, 16, 32, 16);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
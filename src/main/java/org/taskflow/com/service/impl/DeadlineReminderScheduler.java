@@ -2,11 +2,12 @@ package org.taskflow.com.service.impl;
 
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.taskflow.com.entity.TaskEntity;
 import org.taskflow.com.exception.DeadlineReminderException;
+import org.taskflow.com.model.TaskDTO;
 import org.taskflow.com.repository.TaskRepository;
 import org.taskflow.com.service.MailService;
 
@@ -15,47 +16,57 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
+/**
+ * Reminds assignees of tasks due within the hour, by email and on the user destination {@code /user/queue/deadlines}
+ * of their open WebSocket sessions.
+ */
 @Component
 @RequiredArgsConstructor
 public class DeadlineReminderScheduler {
+    static final String USER_DESTINATION = "/queue/deadlines";
 
     private final TaskRepository taskRepository;
     private final MailService mailService;
+    private final SimpMessagingTemplate messagingTemplate;
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Scheduled(cron = "0 0 * * * ?")
     public void sendDeadlineReminder() {
-        List<TaskEntity> tasks = getTasksThatAreDueInOneHour();
+        List<TaskDTO> tasks = getTasksThatAreDueInOneHour();
 
-        tasks.forEach(this::sendReminderEmailAsync);
+        tasks.forEach(task -> {
+            sendReminderEmailAsync(task);
+            // Resolved against the sessions whose handshake principal has this email; see WebSocketConfig.
+            messagingTemplate.convertAndSendToUser(task.assignedToEmail(), USER_DESTINATION, task);
+        });
     }
 
-    private void sendReminderEmailAsync(TaskEntity task) {
+    private void sendReminderEmailAsync(TaskDTO task) {
         CompletableFuture.runAsync(() -> {
             try {
                 sendReminderEmail(task);
             } catch (Exception e) {
-                throw new DeadlineReminderException(task.getId(), task.getAssignedTo().getEmail(), e);
+                throw new DeadlineReminderException(task.id(), task.assignedToEmail(), e);
             }
         });
     }
 
-    private void sendReminderEmail(TaskEntity task) throws MessagingException {
-        String to = task.getAssignedTo().getEmail();
+    private void sendReminderEmail(TaskDTO task) throws MessagingException {
+        String to = task.assignedToEmail();
 
         Map<String, Object> variables = Map.of(
-                "taskTitle", task.getTitle(),
-                "taskLink", "https://yourapp.com/tasks/" + task.getId(),
+                "taskTitle", task.title(),
+                "taskLink", "https://yourapp.com/tasks/" + task.id(),
                 "email", to
         );
 
         mailService.sendEmail(to, "Deadline Reminder: Task Due Soon!", "email-template-deadline", variables);
     }
 
-    private List<TaskEntity> getTasksThatAreDueInOneHour() {
+    private List<TaskDTO> getTasksThatAreDueInOneHour() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime oneHourLater = now.plusHours(1);
 
-        return taskRepository.findByDeadlineBetween(now, oneHourLater);
+        return taskRepository.findDueBetween(now, oneHourLater);
     }
 }
\ No newline at end of file
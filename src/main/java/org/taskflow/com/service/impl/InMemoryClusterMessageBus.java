@@ -0,0 +1,30 @@
+package org.taskflow.com.service.impl;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.taskflow.com.model.ClusterMessage;
+import org.taskflow.com.service.ClusterMessageBus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Stand-in for Redis that hands every message to the listeners on the publishing thread.
+ * Enough for a single node; in tests several relays can share one instance to act as separate nodes.
+ */
+@Component
+@ConditionalOnProperty(name = "app.websocket.cluster.bus", havingValue = "memory")
+public class InMemoryClusterMessageBus implements ClusterMessageBus {
+    private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(ClusterMessage message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        listeners.add(listener);
+    }
+}
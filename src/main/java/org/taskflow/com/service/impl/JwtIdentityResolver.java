@@ -0,0 +1,71 @@
+package org.taskflow.com.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.taskflow.com.enums.Role;
+import org.taskflow.com.model.AuthenticatedUser;
+import org.taskflow.com.service.IdentityResolver;
+import org.taskflow.com.service.RevocationService;
+import org.taskflow.com.service.TokenCacheService;
+
+/**
+ * Stateless mode: identity comes from the verified token claims and the only remote call left is
+ * confirming a revocation-filter hit. Tokens issued before the identity claims existed are still
+ * resolved through Redis until they expire.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.security.identity-mode", havingValue = "jwt")
+public class JwtIdentityResolver implements IdentityResolver {
+    static final String EMAIL_CLAIM = "email";
+    static final String ROLE_CLAIM = "role";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtDecoder jwtDecoder;
+    private final RevocationService revocationService;
+    private final TokenCacheService tokenCacheService;
+
+    @Override
+    public AuthenticatedUser resolve(String authHeader) {
+        Jwt jwt = verify(authHeader.substring(BEARER_PREFIX.length()));
+        if (jwt == null) {
+            return null;
+        }
+        if (revocationService.isRevoked(TokenCacheServiceImpl.sessionId(authHeader))) {
+            log.debug("Rejected revoked token of {}", jwt.getSubject());
+            return null;
+        }
+
+        String email = jwt.getClaimAsString(EMAIL_CLAIM);
+        if (email == null) {
+            email = tokenCacheService.getEmailByToken(authHeader);
+            return email == null ? null : new AuthenticatedUser(null, email, null);
+        }
+        return new AuthenticatedUser(Long.valueOf(jwt.getSubject()), email, Role.valueOf(jwt.getClaimAsString(ROLE_CLAIM)));
+    }
+
+    /**
+     * Reuses the token the resource-server filter already verified for this request; otherwise
+     * (WebSocket handshakes, calls outside a request) verifies the signature here.
+     */
+    private Jwt verify(String token) {
+        if (SecurityContextHolder.getContext().getAuthentication() instanceof JwtAuthenticationToken authentication
+                && authentication.getToken().getTokenValue().equals(token)) {
+            return authentication.getToken();
+        }
+        try {
+            return jwtDecoder.decode(token);
+        } catch (JwtException e) {
+            log.debug("Rejected token: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.taskflow.com.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Drains the legacy {@code tokens} hash into per-session keys on startup.
+ * Tokens written by nodes that still run the old code are picked up lazily by
+ * {@link TokenCacheServiceImpl#getEmailByToken} while {@code app.sessions.legacy-fallback} is on.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.sessions.migrate-legacy-tokens", havingValue = "true", matchIfMissing = true)
+public class LegacyTokenMigration implements ApplicationRunner {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TokenCacheServiceImpl tokenCacheService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(TokenCacheServiceImpl.LEGACY_TOKENS_KEY))) {
+            return;
+        }
+
+        int migrated = 0;
+        try (Cursor<Map.Entry<String, String>> cursor = redisTemplate.<String, String>opsForHash()
+                .scan(TokenCacheServiceImpl.LEGACY_TOKENS_KEY, ScanOptions.scanOptions().count(500).build())) {
+            while (cursor.hasNext()) {
+                if (tokenCacheService.migrateLegacyToken(cursor.next().getKey()) != null) {
+                    migrated++;
+                }
+            }
+        }
+        log.info("Migrated {} tokens from the legacy '{}' hash", migrated, TokenCacheServiceImpl.LEGACY_TOKENS_KEY);
+    }
+}
@@ -0,0 +1,24 @@
+package org.taskflow.com.service.impl;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.taskflow.com.service.RevocationService;
+
+import java.time.Instant;
+
+/**
+ * Redis mode: deleting the session already rejects its token, so no revocation list is kept or replicated.
+ */
+@Component
+@ConditionalOnProperty(name = "app.security.identity-mode", havingValue = "redis", matchIfMissing = true)
+public class NoOpRevocationService implements RevocationService {
+
+    @Override
+    public void revoke(String sessionId, Instant expiresAt) {
+    }
+
+    @Override
+    public boolean isRevoked(String sessionId) {
+        return false;
+    }
+}
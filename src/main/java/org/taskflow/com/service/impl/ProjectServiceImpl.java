@@ -5,7 +5,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.taskflow.com.entity.ProjectEntity;
-import org.taskflow.com.entity.UserEntity;
 import org.taskflow.com.mapper.MapperProject;
 import org.taskflow.com.model.CreateProjectDTO;
 import org.taskflow.com.model.ProjectDTO;
@@ -13,8 +12,8 @@ import org.taskflow.com.model.UpdateProjectDTO;
 import org.taskflow.com.repository.ProjectRepository;
 import org.taskflow.com.repository.UserRepository;
 import org.taskflow.com.annotation.CheckToken;
+import org.taskflow.com.annotation.PrincipalContext;
 import org.taskflow.com.service.ProjectService;
-import org.taskflow.com.service.TokenCacheService;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,7 +25,7 @@ public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
-    private final TokenCacheService tokenCacheService;
+    private final PrincipalContext principalContext;
     private final MapperProject mapperProject;
 
     /**
@@ -37,9 +36,8 @@ public class ProjectServiceImpl implements ProjectService {
      */
     @CheckToken
     public ProjectDTO createProject(CreateProjectDTO createProjectDTO, String authHeader) {
-        // Get the user based on the provided token
-        UserEntity user = userRepository.findByEmail(tokenCacheService.getEmailByToken(authHeader))
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        // Reference the authenticated user without loading it again
+        var user = userRepository.getReferenceById(principalContext.getUser().id());
 
         // Build a new project entity with the provided data
         ProjectEntity project = mapperProject.toProjectEntity(createProjectDTO, user);
@@ -56,14 +54,25 @@ public class ProjectServiceImpl implements ProjectService {
      * @param authHeader The authentication header containing the user's token.
      * @return A list of ProjectDTOs representing the user's projects.
      */
+    @CheckToken
     public List<ProjectDTO> getProjects(String authHeader) {
         // Find all projects created by the user using the email from the token
-        return projectRepository.findByCreatedBy_Email(tokenCacheService.getEmailByToken(authHeader))
+        return projectRepository.findByCreatedBy_Email(principalContext.getEmail())
                 .stream()
                 .map(mapperProject::toProjectDTO) // Map each project to a ProjectDTO
                 .toList();
     }
 
+    /**
+     * Computes a fingerprint of the authenticated user's project list without loading the projects.
+     * @param authHeader The authentication header containing the user's token.
+     * @return A value that changes whenever a project of the user is created, updated or deleted.
+     */
+    @CheckToken
+    public String getProjectsFingerprint(String authHeader) {
+        return projectRepository.findListFingerprint(principalContext.getEmail());
+    }
+
     /**
      * Retrieves a specific project by its ID for the authenticated user.
      * @param projectId The ID of the project to retrieve.
@@ -73,13 +82,25 @@ public class ProjectServiceImpl implements ProjectService {
     @CheckToken
     public ProjectDTO getProjectById(Long projectId, String authHeader) {
         // Find the project by ID and ensure it belongs to the authenticated user
-        ProjectEntity project = projectRepository.findByIdAndCreatedBy_Email(projectId, tokenCacheService.getEmailByToken(authHeader))
+        ProjectEntity project = projectRepository.findByIdAndCreatedBy_Email(projectId, principalContext.getEmail())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
 
         // Return the project DTO
         return mapperProject.toProjectDTO(project);
     }
 
+    /**
+     * Retrieves the version of a project of the authenticated user without loading the project.
+     * @param projectId The ID of the project.
+     * @param authHeader The authentication header containing the user's token.
+     * @return The current version of the project.
+     */
+    @CheckToken
+    public long getProjectVersion(Long projectId, String authHeader) {
+        return projectRepository.findVersion(projectId, principalContext.getEmail())
+                .orElseThrow(() -> new EntityNotFoundException("Project not found"));
+    }
+
     /**
      * Updates an existing project with new details.
      * @param projectId The ID of the project to update.
@@ -90,7 +111,7 @@ public class ProjectServiceImpl implements ProjectService {
     @CheckToken
     public ProjectDTO updateProject(Long projectId, UpdateProjectDTO updateProjectDTO, String authHeader) {
         // Find the project by ID and ensure it belongs to the authenticated user
-        ProjectEntity project = projectRepository.findByIdAndCreatedBy_Email(projectId, tokenCacheService.getEmailByToken(authHeader))
+        ProjectEntity project = projectRepository.findByIdAndCreatedBy_Email(projectId, principalContext.getEmail())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
 
         // Update the project details with the provided data
@@ -112,7 +133,7 @@ public class ProjectServiceImpl implements ProjectService {
     @CheckToken
     public void deleteProject(Long projectId, String authHeader) {
         // Find the project by ID and ensure it belongs to the authenticated user
-        ProjectEntity project = projectRepository.findByIdAndCreatedBy_Email(projectId, tokenCacheService.getEmailByToken(authHeader))
+        ProjectEntity project = projectRepository.findByIdAndCreatedBy_Email(projectId, principalContext.getEmail())
                 .orElseThrow(() -> new EntityNotFoundException("Project not found"));
 
         // Delete the project from the repository
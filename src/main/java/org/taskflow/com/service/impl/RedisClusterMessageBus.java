@@ -0,0 +1,142 @@
+package org.taskflow.com.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.stereotype.Component;
+import org.taskflow.com.model.ClusterMessage;
+import org.taskflow.com.service.ClusterMessageBus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Cluster bus over Redis pub/sub. Destinations are hashed onto {@code shards} channels ({@code <prefix><n>});
+ * every node subscribes to all of them, and each shard is dispatched by its own thread, so messages for one
+ * destination keep their order while busy destinations on different shards do not queue behind each other.
+ * <p>
+ * Pub/sub delivers at most once: a node that is disconnected from Redis misses what was sent meanwhile.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.websocket.cluster.bus", havingValue = "redis", matchIfMissing = true)
+public class RedisClusterMessageBus implements ClusterMessageBus, MessageListener, DisposableBean {
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String channelPrefix;
+    private final ExecutorService[] shards;
+    private final Counter publishErrors;
+    private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    public RedisClusterMessageBus(RedisTemplate<String, String> redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.websocket.cluster.shards:8}") int shardCount,
+                                  @Value("${app.websocket.cluster.channel-prefix:ws:broker:}") String channelPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.channelPrefix = channelPrefix;
+        this.shards = new ExecutorService[shardCount];
+        List<Topic> topics = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            String name = "ws-cluster-" + i;
+            shards[i] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, name));
+            topics.add(new ChannelTopic(channelPrefix + i));
+        }
+        this.publishErrors = Counter.builder("websocket.cluster.publish.errors")
+                .description("Broker messages that could not be published to Redis")
+                .register(meterRegistry);
+        listenerContainer.addMessageListener(this, topics);
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        byte[] channel = (channelPrefix + shardOf(message.destination(), shards.length)).getBytes(StandardCharsets.UTF_8);
+        byte[] body = encode(message);
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, body));
+        } catch (RuntimeException e) {
+            // Local subscribers already have the message; only the other nodes miss it.
+            publishErrors.increment();
+            log.warn("Could not publish broker message for {} to Redis", message.destination(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        ClusterMessage clusterMessage = decode(message.getBody());
+        shards[shardOf(clusterMessage.destination(), shards.length)].execute(() -> {
+            for (Consumer<ClusterMessage> listener : listeners) {
+                try {
+                    listener.accept(clusterMessage);
+                } catch (RuntimeException e) {
+                    log.warn("Broker message for {} was not delivered", clusterMessage.destination(), e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+    }
+
+    static int shardOf(String destination, int shardCount) {
+        return Math.floorMod(destination.hashCode(), shardCount);
+    }
+
+    static byte[] encode(ClusterMessage message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(message.payload().length + 128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(message.origin());
+            out.writeUTF(message.destination());
+            out.writeUTF(message.contentType() == null ? "" : message.contentType());
+            out.writeLong(message.sentAt());
+            out.writeInt(message.payload().length);
+            out.write(message.payload());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static ClusterMessage decode(byte[] body) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(body))) {
+            String origin = in.readUTF();
+            String destination = in.readUTF();
+            String contentType = in.readUTF();
+            long sentAt = in.readLong();
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            return new ClusterMessage(origin, destination, contentType.isEmpty() ? null : contentType, payload, sentAt);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
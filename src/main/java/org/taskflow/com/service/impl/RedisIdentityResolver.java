@@ -0,0 +1,25 @@
+package org.taskflow.com.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.taskflow.com.model.AuthenticatedUser;
+import org.taskflow.com.service.IdentityResolver;
+import org.taskflow.com.service.TokenCacheService;
+
+/**
+ * Default mode: the session stored in Redis is the source of truth, so a deleted session is rejected at once.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.security.identity-mode", havingValue = "redis", matchIfMissing = true)
+public class RedisIdentityResolver implements IdentityResolver {
+
+    private final TokenCacheService tokenCacheService;
+
+    @Override
+    public AuthenticatedUser resolve(String authHeader) {
+        String email = tokenCacheService.getEmailByToken(authHeader);
+        return email == null ? null : new AuthenticatedUser(null, email, null);
+    }
+}
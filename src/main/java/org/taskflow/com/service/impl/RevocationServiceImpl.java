@@ -0,0 +1,102 @@
+package org.taskflow.com.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.taskflow.com.service.RevocationService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Revocation list for signed tokens, used when identity is taken from the JWT instead of Redis.
+ * <p>
+ * Revoked session ids live in the {@code revoked-sessions} sorted set, scored by token expiry.
+ * Every node keeps a Bloom filter of that set, fed by the {@code sessions:revoked} channel and
+ * rebuilt periodically, so checking a token that was never revoked stays in memory.
+ * Only filter hits are confirmed against Redis.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.security.identity-mode", havingValue = "jwt")
+public class RevocationServiceImpl implements RevocationService, MessageListener {
+    static final String REVOKED_SESSIONS_KEY = "revoked-sessions";
+    static final String REVOCATION_CHANNEL = "sessions:revoked";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${app.security.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${app.security.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    @PostConstruct
+    void start() {
+        // Subscribe before loading, so nothing revoked in between is missed.
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOCATION_CHANNEL));
+        rebuild();
+    }
+
+    @Override
+    public void revoke(String sessionId, Instant expiresAt) {
+        redisTemplate.opsForZSet().add(REVOKED_SESSIONS_KEY, sessionId, expiresAt.toEpochMilli());
+        remember(sessionId);
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, sessionId);
+        log.info("Session revoked: {}", sessionId);
+    }
+
+    @Override
+    public boolean isRevoked(String sessionId) {
+        if (!filter.mightContain(sessionId)) {
+            return false;
+        }
+        return redisTemplate.opsForZSet().score(REVOKED_SESSIONS_KEY, sessionId) != null;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        remember(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Drops entries whose tokens have expired and reloads the filter from Redis,
+     * which also shrinks it back after a burst of revocations.
+     */
+    @Scheduled(fixedDelayString = "${app.security.revocation.rebuild-interval:PT5M}",
+            initialDelayString = "${app.security.revocation.rebuild-interval:PT5M}")
+    synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        ZSetOperations<String, String> revoked = redisTemplate.opsForZSet();
+        revoked.removeRangeByScore(REVOKED_SESSIONS_KEY, Double.NEGATIVE_INFINITY, now);
+        Set<String> sessionIds = revoked.rangeByScore(REVOKED_SESSIONS_KEY, now, Double.POSITIVE_INFINITY);
+        if (sessionIds == null) {
+            sessionIds = Set.of();
+        }
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, sessionIds.size() * 2), falsePositiveRate);
+        sessionIds.forEach(rebuilt::put);
+        filter = rebuilt;
+        log.debug("Revocation filter rebuilt with {} sessions", sessionIds.size());
+    }
+
+    // Shares the monitor with rebuild(), so an id received while the set is being read is not lost in the swap.
+    private synchronized void remember(String sessionId) {
+        filter.put(sessionId);
+    }
+}
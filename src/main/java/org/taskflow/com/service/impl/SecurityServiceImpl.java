@@ -5,37 +5,48 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.taskflow.com.annotation.CheckToken;
+import org.taskflow.com.annotation.PrincipalContext;
 import org.taskflow.com.entity.UserEntity;
 import org.taskflow.com.enums.Role;
 import org.taskflow.com.exception.EmailAlreadyOccupiedException;
 import org.taskflow.com.mapper.MapperSecurity;
 import org.taskflow.com.model.NewUser;
 import org.taskflow.com.model.SessionInfo;
+import org.taskflow.com.model.UserSession;
+import org.taskflow.com.model.UserSnapshot;
 import org.taskflow.com.repository.UserRepository;
 import org.taskflow.com.service.SecurityService;
 import org.taskflow.com.service.TokenCacheService;
+import org.taskflow.com.service.UserCacheService;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.stream.Collectors;
 
-import static java.time.temporal.ChronoUnit.MINUTES;
-
 @AllArgsConstructor
 @Service
 @Transactional
 public class SecurityServiceImpl implements SecurityService {
 
+    static final Duration TOKEN_TTL = Duration.ofMinutes(180); // Token valid for 3 hours
+
     private final JwtEncoder jwtEncoder;
+    private final JwsHeader jwsHeader;
     private final UserRepository repository;
     private final MapperSecurity mapperSecurity;
     private final PasswordEncoder passwordEncoder;
     private final TokenCacheService tokenCacheService;
+    private final UserCacheService userCacheService;
+    private final PrincipalContext principalContext;
 
     /**
      * Handles login by retrieving the user, generating a JWT token,
@@ -43,12 +54,10 @@ public class SecurityServiceImpl implements SecurityService {
      */
     @Override
     public SessionInfo loginInfo(Authentication auth) {
-        var user = repository.findByEmail(auth.getName())
+        var user = userCacheService.findByEmail(auth.getName())
                 .orElseThrow(() -> new UsernameNotFoundException(auth.getName() + " not found user by email"));
 
-        var token = getJWTToken(mapperSecurity.toUserDetailsImpl(user), user.getId());
-        tokenCacheService.saveToken(user.getEmail(), "Bearer " + token);
-        return mapperSecurity.toSessionInfo(token);
+        return openSession(user);
     }
 
     /**
@@ -58,8 +67,34 @@ public class SecurityServiceImpl implements SecurityService {
     @Override
     public SessionInfo register(NewUser newUser) {
         var user = saveNewUser(newUser);
-        var token = getJWTToken(mapperSecurity.toUserDetailsImpl(user), user.getId());
-        tokenCacheService.saveToken(user.getEmail(), "Bearer " + token);
+        return openSession(mapperSecurity.toUserSnapshot(user));
+    }
+
+    /**
+     * Lists the active sessions of the authenticated user.
+     */
+    @Override
+    @CheckToken
+    public List<UserSession> getSessions(String authHeader) {
+        return tokenCacheService.getSessions(principalContext.getEmail());
+    }
+
+    /**
+     * Revokes every session of the authenticated user, including the one making the call.
+     */
+    @Override
+    @CheckToken
+    public void revokeSessions(String authHeader) {
+        tokenCacheService.deleteSessions(principalContext.getEmail());
+    }
+
+    /**
+     * Issues a token for the user and stores its session until the token expires.
+     */
+    private SessionInfo openSession(UserSnapshot user) {
+        var issuedAt = Instant.now();
+        var token = encodeToken(mapperSecurity.toUserDetailsImpl(user), user.id(), issuedAt);
+        tokenCacheService.saveToken("Bearer " + token, user.email(), issuedAt.plus(TOKEN_TTL));
         return mapperSecurity.toSessionInfo(token);
     }
 
@@ -91,15 +126,20 @@ public class SecurityServiceImpl implements SecurityService {
     @Override
     @Transactional(readOnly = true)
     public String getJWTToken(UserDetailsImpl authentication, long id) {
-        var now = Instant.now();
+        return encodeToken(authentication, id, Instant.now());
+    }
+
+    private String encodeToken(UserDetailsImpl authentication, long id, Instant issuedAt) {
         var claims = JwtClaimsSet.builder()
                 .issuer("self")
-                .issuedAt(now)
-                .expiresAt(now.plus(180, MINUTES)) // Token valid for 3 hours
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(TOKEN_TTL))
                 .subject(String.valueOf(id))
+                .claim(JwtIdentityResolver.EMAIL_CLAIM, authentication.getUsername())
+                .claim(JwtIdentityResolver.ROLE_CLAIM, authentication.getRole().name())
                 .claim("scope", createScope(authentication))
                 .build();
-        return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        return jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
     }
 
     /**
@@ -0,0 +1,127 @@
+package org.taskflow.com.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.taskflow.com.model.TaskChange;
+import org.taskflow.com.repository.TaskEventRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects task changes per STOMP destination and sends them once per window, so a client subscribed to a
+ * destination gets at most one frame per window however many tasks changed. Changes to the same task within a
+ * window collapse into the one with the highest version, which is the state the task ended up in.
+ * <p>
+ * Changes are held in memory until the next flush. The outbox events they came from are deleted only after the
+ * flush has sent them, so the changes pending on a node that stops are relayed again once the events' claim runs
+ * out. Reports the collapsed changes as
+ * {@code websocket.task_changes.coalesced} and the frames sent as {@code websocket.task_changes.frames}.
+ */
+@Slf4j
+@Component
+public class TaskChangeCoalescer {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TaskEventRepository taskEventRepository;
+    private final Counter coalesced;
+    private final Counter frames;
+
+    // Guarded by this; swapped for an empty map on every flush.
+    private Map<Target, Map<Long, TaskChange>> pending = new LinkedHashMap<>();
+    private List<Long> pendingEventIds = new ArrayList<>();
+
+    public TaskChangeCoalescer(SimpMessagingTemplate messagingTemplate, TaskEventRepository taskEventRepository,
+                               MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.taskEventRepository = taskEventRepository;
+        this.coalesced = Counter.builder("websocket.task_changes.coalesced")
+                .description("Task changes replaced by a later change to the same task before being sent")
+                .register(meterRegistry);
+        this.frames = Counter.builder("websocket.task_changes.frames")
+                .description("Batched task change frames sent to the broker")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a change for every subscriber of a broker destination.
+     *
+     * @param destination the destination, e.g. {@code /task-status/projects/1}.
+     * @param change      the change to send with the next flush.
+     */
+    public void send(String destination, TaskChange change) {
+        add(new Target(null, destination), change);
+    }
+
+    /**
+     * Queues a change for the sessions of one user.
+     *
+     * @param user        the principal name the sessions were opened with.
+     * @param destination the user destination without the {@code /user} prefix, e.g. {@code /queue/tasks}.
+     * @param change      the change to send with the next flush.
+     */
+    public void sendToUser(String user, String destination, TaskChange change) {
+        add(new Target(user, destination), change);
+    }
+
+    /**
+     * Deletes outbox events after the next flush, which sends every change queued before this call.
+     *
+     * @param eventIds the events whose changes have already been queued.
+     */
+    public synchronized void deleteAfterSending(Collection<Long> eventIds) {
+        pendingEventIds.addAll(eventIds);
+    }
+
+    private synchronized void add(Target target, TaskChange change) {
+        Map<Long, TaskChange> changes = pending.computeIfAbsent(target, t -> new LinkedHashMap<>());
+        TaskChange current = changes.get(change.taskId());
+        if (current == null || change.version() >= current.version()) {
+            changes.put(change.taskId(), change);
+        }
+        if (current != null) {
+            coalesced.increment();
+        }
+    }
+
+    /**
+     * Sends one frame per destination holding the latest change of each task queued since the last flush, then
+     * deletes the outbox events of those changes. If sending fails the events stay and are relayed again.
+     */
+    @Scheduled(fixedDelayString = "${app.websocket.coalesce-window:50ms}")
+    public void flush() {
+        Map<Target, Map<Long, TaskChange>> batch;
+        List<Long> eventIds;
+        synchronized (this) {
+            if (pending.isEmpty() && pendingEventIds.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            eventIds = pendingEventIds;
+            pending = new LinkedHashMap<>();
+            pendingEventIds = new ArrayList<>();
+        }
+
+        batch.forEach((target, changes) -> {
+            if (target.user() == null) {
+                messagingTemplate.convertAndSend(target.destination(), new ArrayList<>(changes.values()));
+            } else {
+                messagingTemplate.convertAndSendToUser(target.user(), target.destination(), new ArrayList<>(changes.values()));
+            }
+            frames.increment();
+        });
+        if (!eventIds.isEmpty()) {
+            taskEventRepository.deleteAllByIdInBatch(eventIds);
+        }
+        log.debug("Flushed task changes to {} destinations", batch.size());
+    }
+
+    private record Target(String user, String destination) {}
+}
@@ -0,0 +1,102 @@
+package org.taskflow.com.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.taskflow.com.entity.TaskEventEntity;
+import org.taskflow.com.enums.TaskEventType;
+import org.taskflow.com.model.TaskChange;
+import org.taskflow.com.model.TaskDTO;
+import org.taskflow.com.repository.TaskEventRepository;
+import org.taskflow.com.repository.TaskRepository;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes committed task changes from the outbox to STOMP subscribers of {@code /task-status/projects/{projectId}}
+ * and to the assignee of each task on the user destination {@code /user/queue/tasks}.
+ * <p>
+ * Each run locks a batch of events with {@code SKIP LOCKED}, reads the current state of the affected tasks in one
+ * query and hands the changes to the {@link TaskChangeCoalescer}, which sends one message per project and one per
+ * assignee and window, each holding only the changes that concern it. The events are claimed for
+ * {@code app.task-events.claim-lease} rather than deleted, and the coalescer deletes them once their changes have
+ * been sent; events of a node that stops before that are relayed again when the claim runs out. Delivery is at
+ * least once, and clients should ignore changes whose version is not newer than what they have. A deletion carries
+ * the task's last version plus one, so it always passes that check. Several events for the same task in one batch
+ * collapse into the latest.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskEventRelay {
+    public static final String PROJECT_DESTINATION_PREFIX = "/task-status/projects/";
+    static final String USER_DESTINATION = "/queue/tasks";
+
+    private final TaskEventRepository taskEventRepository;
+    private final TaskRepository taskRepository;
+    private final TaskChangeCoalescer coalescer;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.task-events.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.task-events.claim-lease:30s}")
+    private Duration claimLease;
+
+    /**
+     * Drains the outbox, one transaction per batch, until a batch comes back short.
+     */
+    @Scheduled(fixedDelayString = "${app.task-events.relay-interval:200ms}")
+    public void relay() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Integer relayed;
+        do {
+            relayed = transaction.execute(status -> relayBatch());
+        } while (relayed != null && relayed == batchSize);
+    }
+
+    /**
+     * @return the number of events taken from the outbox.
+     */
+    int relayBatch() {
+        List<TaskEventEntity> events = taskEventRepository.lockBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> eventIds = events.stream().map(TaskEventEntity::getId).toList();
+        taskEventRepository.claim(eventIds, claimLease.toSeconds());
+
+        Map<Long, TaskEventEntity> latest = new LinkedHashMap<>();
+        events.forEach(event -> latest.put(event.getTaskId(), event));
+        List<Long> liveIds = latest.values().stream()
+                .filter(event -> event.getType() != TaskEventType.DELETED)
+                .map(TaskEventEntity::getTaskId)
+                .toList();
+        Map<Long, TaskDTO> tasks = liveIds.isEmpty() ? Map.of() : taskRepository.findDtosByIdIn(liveIds).stream()
+                .collect(Collectors.toMap(TaskDTO::id, Function.identity()));
+
+        for (TaskEventEntity event : latest.values()) {
+            TaskChange change = new TaskChange(event.getTaskId(), event.getType(), event.getTaskVersion(), tasks.get(event.getTaskId()));
+            coalescer.send(PROJECT_DESTINATION_PREFIX + event.getProjectId(), change);
+            if (event.getAssigneeEmail() != null) {
+                // Resolved against the sessions whose handshake principal has this email; see WebSocketConfig.
+                coalescer.sendToUser(event.getAssigneeEmail(), USER_DESTINATION, change);
+            }
+        }
+
+        // After the changes, so no flush can delete an event before sending its change.
+        coalescer.deleteAfterSending(eventIds);
+        log.debug("Relayed {} task events for {} tasks", events.size(), latest.size());
+        return events.size();
+    }
+}
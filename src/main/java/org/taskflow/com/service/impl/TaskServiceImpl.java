@@ -1,78 +1,229 @@
 package org.taskflow.com.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.taskflow.com.annotation.CheckToken;
+import org.taskflow.com.annotation.PrincipalContext;
 import org.taskflow.com.entity.TaskEntity;
 import org.taskflow.com.entity.UserEntity;
+import org.taskflow.com.enums.ExportFormat;
+import org.taskflow.com.enums.TaskEventType;
+import org.taskflow.com.enums.TaskPriority;
+import org.taskflow.com.enums.TaskSortField;
+import org.taskflow.com.enums.TaskStatus;
+import org.taskflow.com.exception.TaskVersionConflictException;
+import org.taskflow.com.exception.UnknownTaskValueException;
+import org.taskflow.com.model.AuthenticatedUser;
+import org.taskflow.com.model.BulkItemResult;
+import org.taskflow.com.model.BulkResult;
+import org.taskflow.com.model.BulkUpdateTaskDTO;
 import org.taskflow.com.model.CreateTaskDTO;
+import org.taskflow.com.model.PatchTaskDTO;
 import org.taskflow.com.model.TaskDTO;
+import org.taskflow.com.model.TaskFilter;
+import org.taskflow.com.model.TaskPage;
+import org.taskflow.com.model.TaskQueryPage;
+import org.taskflow.com.model.TaskSearchPage;
 import org.taskflow.com.model.UpdateTaskDTO;
 import org.taskflow.com.repository.ProjectRepository;
+import org.taskflow.com.repository.TaskEventRepository;
 import org.taskflow.com.repository.TaskRepository;
+import org.taskflow.com.repository.TaskSpecifications;
 import org.taskflow.com.repository.UserRepository;
 import org.taskflow.com.service.TaskService;
-import org.taskflow.com.service.TokenCacheService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
+    static final int EXPORT_FLUSH_INTERVAL = 100;
+    static final int MAX_TITLE_LENGTH = 255;
+    static final String PROJECT_FOREIGN_KEY = "fk_tasks_project_id";
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
-    private final TokenCacheService tokenCacheService;
+    private final TaskEventRepository taskEventRepository;
+    private final PrincipalContext principalContext;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new task and assigns it to a user and a project.
+     * Costs three statements: an access check on the project, the insert and its outbox event. The user comes
+     * from the principal and both associations are set as references, so neither row is loaded. The project must
+     * be one the user created or has a task in, as for {@link #createTasks}. The insert is flushed right away, so a
+     * project deleted after the check fails it on the project foreign key here, which is reported the same way.
      *
      * @param createTaskDTO - DTO containing the task details.
      * @param authHeader - Authorization token for user authentication.
      * @return TaskDTO - The created task.
-     * @throws EntityNotFoundException - Thrown if the user or project is not found.
+     * @throws EntityNotFoundException - Thrown if the user or project is not found, or the project is not the user's.
+     * @throws UnknownTaskValueException - Thrown if the priority or status is not recognized.
      */
     @CheckToken
+    @Transactional
     public TaskDTO createTask(CreateTaskDTO createTaskDTO, String authHeader) {
-        UserEntity user = userRepository.findByEmail(tokenCacheService.getEmailByToken(authHeader))
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        var project = projectRepository.findById(createTaskDTO.projectId())
-                .orElseThrow(() -> new EntityNotFoundException("Project not found"));
+        AuthenticatedUser user = principalContext.getUser();
+        TaskPriority priority = TaskPriority.from(createTaskDTO.priority());
+        TaskStatus status = TaskStatus.from(createTaskDTO.status());
+        if (createTaskDTO.projectId() == null || !projectRepository.isAccessibleTo(createTaskDTO.projectId(), user.id())) {
+            throw new EntityNotFoundException("Project not found");
+        }
 
         TaskEntity task = TaskEntity.builder()
                 .title(createTaskDTO.title())
                 .description(createTaskDTO.description())
-                .priority(createTaskDTO.priority())
-                .status(createTaskDTO.status())
-                .assignedTo(user)
+                .priority(priority)
+                .status(status)
+                .assignedTo(userRepository.getReferenceById(user.id()))
                 .deadline(createTaskDTO.deadline())
-                .project(project)
+                .project(projectRepository.getReferenceById(createTaskDTO.projectId()))
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        TaskEntity savedTask = taskRepository.save(task);
+        TaskEntity savedTask;
+        try {
+            savedTask = taskRepository.saveAndFlush(task);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && PROJECT_FOREIGN_KEY.equalsIgnoreCase(violation.getConstraintName())) {
+                throw new EntityNotFoundException("Project not found");
+            }
+            throw e;
+        }
+        recordEvent(TaskEventType.CREATED, List.of(savedTask.getId()));
 
-        return toTaskDTO(savedTask);
+        return toTaskDTO(savedTask, user.email());
     }
 
     /**
-     * Retrieves a list of tasks assigned to the user.
+     * Retrieves one page of the tasks assigned to the user, ordered by ID.
+     * One extra row is fetched to tell whether another page follows.
      *
      * @param authHeader - Authorization token for user authentication.
-     * @return List<TaskDTO> - A list of task DTOs.
+     * @param cursor - The cursor returned with the previous page, or null for the first page.
+     * @param size - The maximum number of tasks on the page.
+     * @return TaskPage - The tasks and the cursor of the next page.
      */
     @CheckToken
-    public List<TaskDTO> getTasks(String authHeader) {
-        return taskRepository.findByAssignedTo_Email(tokenCacheService.getEmailByToken(authHeader))
-                .stream()
-                .map(this::toTaskDTO)
-                .collect(Collectors.toList());
+    public TaskPage getTasks(String authHeader, Long cursor, int size) {
+        AuthenticatedUser user = principalContext.getUser();
+        List<TaskDTO> tasks = taskRepository.findPageByAssignee(user.id(), cursor == null ? 0 : cursor, Limit.of(size + 1));
+
+        boolean hasMore = tasks.size() > size;
+        List<TaskDTO> items = hasMore ? tasks.subList(0, size) : tasks;
+        return new TaskPage(items, hasMore ? items.get(items.size() - 1).id() : null);
+    }
+
+    /**
+     * Lists the tasks visible to the user that match a filter, in the requested order.
+     * Visible are the tasks assigned to the user and all tasks of projects the user created.
+     * Ties are broken by ID, so pages are stable. One extra row is fetched to tell whether another page follows.
+     *
+     * @param filter - The conditions to match; null fields are ignored.
+     * @param sort - The field to sort by.
+     * @param direction - The sort direction.
+     * @param page - The page number, starting at 0.
+     * @param size - The maximum number of tasks on the page.
+     * @param authHeader - Authorization token for user authentication.
+     * @return TaskQueryPage - The tasks on the page and whether another page follows.
+     * @throws UnknownTaskValueException - Thrown if the filter names an unknown status or priority.
+     */
+    @CheckToken
+    public TaskQueryPage queryTasks(TaskFilter filter, TaskSortField sort, Sort.Direction direction, int page, int size, String authHeader) {
+        Sort order = Sort.by(direction, sort.getProperty());
+        if (sort != TaskSortField.ID) {
+            order = order.and(Sort.by(TaskSortField.ID.getProperty()));
+        }
+        Long userId = principalContext.getUser().id();
+        List<TaskDTO> tasks = taskRepository.findDtos(
+                TaskSpecifications.visibleTo(userId, projectRepository.findIdsCreatedBy(userId))
+                        .and(TaskSpecifications.matching(filter)),
+                order, (long) page * size, size + 1);
+
+        boolean hasNext = tasks.size() > size;
+        return new TaskQueryPage(hasNext ? tasks.subList(0, size) : tasks, page, hasNext);
+    }
+
+    /**
+     * Full-text search over the titles and descriptions of the tasks assigned to the user, best match first.
+     * The ranked page is found through the search index as IDs only; the tasks on it are then read in one query.
+     * The cursor is the rank and ID of the last task of the previous page.
+     *
+     * @param query - The search terms, in web-search syntax.
+     * @param projectId - Only tasks of this project, or null for all.
+     * @param status - Only tasks with this status, or null for all.
+     * @param cursor - The cursor returned with the previous page, or null for the first page.
+     * @param size - The maximum number of tasks on the page.
+     * @param authHeader - Authorization token for user authentication.
+     * @return TaskSearchPage - The matching tasks and the cursor of the next page.
+     * @throws IllegalArgumentException - Thrown if the cursor is malformed.
+     * @throws UnknownTaskValueException - Thrown if the status is not recognized.
+     */
+    @CheckToken
+    public TaskSearchPage searchTasks(String query, Long projectId, String status, String cursor, int size, String authHeader) {
+        TaskStatus statusFilter = TaskStatus.from(status);
+        Float afterRank = null;
+        Long afterId = null;
+        if (cursor != null) {
+            int separator = cursor.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            afterRank = Float.valueOf(cursor.substring(0, separator));
+            afterId = Long.valueOf(cursor.substring(separator + 1));
+        }
+
+        List<Object[]> hits = taskRepository.searchPage(principalContext.getUser().id(), query, projectId,
+                statusFilter == null ? null : statusFilter.getCode(), afterRank, afterId, size + 1);
+        boolean hasMore = hits.size() > size;
+        List<Object[]> page = hasMore ? hits.subList(0, size) : hits;
+        if (page.isEmpty()) {
+            return new TaskSearchPage(List.of(), null);
+        }
+
+        List<Long> ids = page.stream().map(hit -> ((Number) hit[0]).longValue()).toList();
+        Map<Long, TaskDTO> tasks = taskRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskDTO::id, Function.identity()));
+        List<TaskDTO> items = ids.stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        Object[] last = page.get(page.size() - 1);
+        return new TaskSearchPage(items, hasMore ? ((Number) last[1]).floatValue() + ":" + last[0] : null);
     }
 
     /**
@@ -85,9 +236,22 @@ public class TaskServiceImpl implements TaskService {
      */
     @CheckToken
     public TaskDTO getTaskById(Long taskId, String authHeader) {
-        TaskEntity task = taskRepository.findByIdAndAssignedTo_Email(taskId, tokenCacheService.getEmailByToken(authHeader))
+        return taskRepository.findDtoByIdAndAssignee(taskId, principalContext.getEmail())
+                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
+    }
+
+    /**
+     * Retrieves the version of a task assigned to the authenticated user, without loading the task.
+     *
+     * @param taskId - The ID of the task.
+     * @param authHeader - Authorization token for user authentication.
+     * @return long - The current version of the task.
+     * @throws EntityNotFoundException - Thrown if the task is not found.
+     */
+    @CheckToken
+    public long getTaskVersion(Long taskId, String authHeader) {
+        return taskRepository.findVersion(taskId, principalContext.getEmail())
                 .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        return toTaskDTO(task);
     }
 
     /**
@@ -98,21 +262,59 @@ public class TaskServiceImpl implements TaskService {
      * @param authHeader - Authorization token for user authentication.
      * @return TaskDTO - The updated task.
      * @throws EntityNotFoundException - Thrown if the task is not found.
+     * @throws UnknownTaskValueException - Thrown if the priority or status is not recognized.
      */
     @CheckToken
+    @Transactional
     public TaskDTO updateTask(Long taskId, UpdateTaskDTO updateTaskDTO, String authHeader) {
-        TaskEntity task = taskRepository.findByIdAndAssignedTo_Email(taskId, tokenCacheService.getEmailByToken(authHeader))
+        String email = principalContext.getEmail();
+        TaskPriority priority = TaskPriority.from(updateTaskDTO.priority());
+        TaskStatus status = TaskStatus.from(updateTaskDTO.status());
+        TaskEntity task = taskRepository.findByIdAndAssignedTo_Email(taskId, email)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found"));
 
         task.setTitle(updateTaskDTO.title());
         task.setDescription(updateTaskDTO.description());
-        task.setPriority(updateTaskDTO.priority());
-        task.setStatus(updateTaskDTO.status());
+        task.setPriority(priority);
+        task.setStatus(status);
         task.setDeadline(updateTaskDTO.deadline());
 
         TaskEntity updatedTask = taskRepository.save(task);
+        recordEvent(TaskEventType.UPDATED, List.of(updatedTask.getId()));
 
-        return toTaskDTO(updatedTask);
+        return toTaskDTO(updatedTask, email);
+    }
+
+    /**
+     * Applies the supplied fields of a patch to a task assigned to the authenticated user; a description or
+     * deadline sent as null is cleared.
+     * Runs as one conditional UPDATE plus its outbox event; only when the update matches nothing is another
+     * query made, to tell a missing task from a version conflict.
+     *
+     * @param taskId - The ID of the task to patch.
+     * @param patchTaskDTO - The fields to change and the version they were based on.
+     * @param authHeader - Authorization token for user authentication.
+     * @return long - The new version of the task.
+     * @throws EntityNotFoundException - Thrown if the task is not found.
+     * @throws TaskVersionConflictException - Thrown if the task has changed since the given version.
+     * @throws UnknownTaskValueException - Thrown if the priority or status is not recognized.
+     */
+    @CheckToken
+    @Transactional
+    public long patchTask(Long taskId, PatchTaskDTO patchTaskDTO, String authHeader) {
+        Long userId = principalContext.getUser().id();
+        int updated = taskRepository.patch(taskId, userId, patchTaskDTO.getVersion(),
+                patchTaskDTO.getTitle(), patchTaskDTO.isDescriptionSent(), patchTaskDTO.getDescription(),
+                TaskPriority.from(patchTaskDTO.getPriority()), TaskStatus.from(patchTaskDTO.getStatus()),
+                patchTaskDTO.isDeadlineSent(), patchTaskDTO.getDeadline());
+        if (updated == 0) {
+            if (taskRepository.existsByIdAndAssignedTo_Id(taskId, userId)) {
+                throw new TaskVersionConflictException(taskId, patchTaskDTO.getVersion());
+            }
+            throw new EntityNotFoundException("Task not found");
+        }
+        recordEvent(TaskEventType.UPDATED, List.of(taskId));
+        return patchTaskDTO.getVersion() + 1;
     }
 
     /**
@@ -123,20 +325,279 @@ public class TaskServiceImpl implements TaskService {
      * @throws EntityNotFoundException - Thrown if the task is not found.
      */
     @CheckToken
+    @Transactional
     public void deleteTask(Long taskId, String authHeader) {
-        TaskEntity task = taskRepository.findByIdAndAssignedTo_Email(taskId, tokenCacheService.getEmailByToken(authHeader))
+        TaskEntity task = taskRepository.findByIdAndAssignedTo_Email(taskId, principalContext.getEmail())
                 .orElseThrow(() -> new EntityNotFoundException("Task not found"));
 
+        recordEvent(TaskEventType.DELETED, List.of(task.getId()));
         taskRepository.delete(task);
     }
 
+    /**
+     * Creates many tasks in one transaction. All referenced projects are checked with one query, which also
+     * checks that the user created each project or has a task in it; the inserts are then flushed through
+     * Hibernate's JDBC batching.
+     * Items pointing at a missing or foreign project, lacking a title, priority or status, or naming an unknown
+     * priority or status are reported and skipped, the rest are created.
+     *
+     * @param createTaskDTOs - DTOs containing the task details.
+     * @param authHeader - Authorization token for user authentication.
+     * @return BulkResult - One result per item, in request order.
+     */
+    @CheckToken
+    @Transactional
+    public BulkResult createTasks(List<CreateTaskDTO> createTaskDTOs, String authHeader) {
+        AuthenticatedUser user = principalContext.getUser();
+        Set<Long> projectIds = projectRepository.findAccessibleIds(createTaskDTOs.stream()
+                .map(CreateTaskDTO::projectId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()), user.id());
+        UserEntity assignee = userRepository.getReferenceById(user.id());
+        LocalDateTime now = LocalDateTime.now();
+
+        BulkItemResult[] results = new BulkItemResult[createTaskDTOs.size()];
+        List<TaskEntity> tasks = new ArrayList<>(createTaskDTOs.size());
+        List<Integer> positions = new ArrayList<>(createTaskDTOs.size());
+        for (int i = 0; i < createTaskDTOs.size(); i++) {
+            CreateTaskDTO dto = createTaskDTOs.get(i);
+            if (dto.projectId() == null || !projectIds.contains(dto.projectId())) {
+                results[i] = BulkItemResult.failed(i, null, HttpStatus.NOT_FOUND.value(), "Project not found");
+                continue;
+            }
+            TaskPriority priority;
+            TaskStatus status;
+            try {
+                priority = TaskPriority.from(dto.priority());
+                status = TaskStatus.from(dto.status());
+            } catch (UnknownTaskValueException e) {
+                results[i] = BulkItemResult.failed(i, null, HttpStatus.BAD_REQUEST.value(), e.getMessage());
+                continue;
+            }
+            String invalid = checkRequired(dto.title(), priority, status);
+            if (invalid != null) {
+                results[i] = BulkItemResult.failed(i, null, HttpStatus.BAD_REQUEST.value(), invalid);
+                continue;
+            }
+            tasks.add(TaskEntity.builder()
+                    .title(dto.title())
+                    .description(dto.description())
+                    .priority(priority)
+                    .status(status)
+                    .assignedTo(assignee)
+                    .deadline(dto.deadline())
+                    .project(projectRepository.getReferenceById(dto.projectId()))
+                    .createdAt(now)
+                    .build());
+            positions.add(i);
+        }
+
+        List<TaskEntity> saved = taskRepository.saveAll(tasks);
+        for (int j = 0; j < saved.size(); j++) {
+            int i = positions.get(j);
+            results[i] = BulkItemResult.ok(i, saved.get(j).getId(), HttpStatus.CREATED.value());
+        }
+        recordEvent(TaskEventType.CREATED, saved.stream().map(TaskEntity::getId).toList());
+        log.info("Bulk created {} of {} tasks for {}", saved.size(), createTaskDTOs.size(), user.email());
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    /**
+     * Updates many tasks assigned to the authenticated user in one transaction.
+     * The tasks are loaded with one query; the changes are flushed on commit as batched updates.
+     * Items that are missing, lack a title, priority or status, or name an unknown one are reported and left as they are.
+     *
+     * @param updateTaskDTOs - DTOs containing the task IDs and their updated details.
+     * @param authHeader - Authorization token for user authentication.
+     * @return BulkResult - One result per item, in request order.
+     */
+    @CheckToken
+    @Transactional
+    public BulkResult updateTasks(List<BulkUpdateTaskDTO> updateTaskDTOs, String authHeader) {
+        AuthenticatedUser user = principalContext.getUser();
+        Map<Long, TaskEntity> tasks = taskRepository.findByIdInAndAssignedTo_Id(updateTaskDTOs.stream()
+                        .map(BulkUpdateTaskDTO::id)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()), user.id())
+                .stream()
+                .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+
+        List<BulkItemResult> results = new ArrayList<>(updateTaskDTOs.size());
+        for (int i = 0; i < updateTaskDTOs.size(); i++) {
+            BulkUpdateTaskDTO dto = updateTaskDTOs.get(i);
+            TaskEntity task = tasks.get(dto.id());
+            if (task == null) {
+                results.add(BulkItemResult.failed(i, dto.id(), HttpStatus.NOT_FOUND.value(), "Task not found"));
+                continue;
+            }
+            TaskPriority priority;
+            TaskStatus status;
+            try {
+                priority = TaskPriority.from(dto.priority());
+                status = TaskStatus.from(dto.status());
+            } catch (UnknownTaskValueException e) {
+                results.add(BulkItemResult.failed(i, dto.id(), HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+                continue;
+            }
+            String invalid = checkRequired(dto.title(), priority, status);
+            if (invalid != null) {
+                results.add(BulkItemResult.failed(i, dto.id(), HttpStatus.BAD_REQUEST.value(), invalid));
+                continue;
+            }
+            task.setTitle(dto.title());
+            task.setDescription(dto.description());
+            task.setPriority(priority);
+            task.setStatus(status);
+            task.setDeadline(dto.deadline());
+            results.add(BulkItemResult.ok(i, task.getId(), HttpStatus.OK.value()));
+        }
+        recordEvent(TaskEventType.UPDATED, results.stream()
+                .filter(BulkItemResult::succeeded)
+                .map(BulkItemResult::id)
+                .toList());
+        return BulkResult.of(results);
+    }
+
+    /**
+     * Deletes many tasks assigned to the authenticated user: one query to check ownership,
+     * one {@code DELETE ... WHERE id IN (...)} for the owned ones.
+     *
+     * @param taskIds - The IDs of the tasks to delete.
+     * @param authHeader - Authorization token for user authentication.
+     * @return BulkResult - One result per item, in request order.
+     */
+    @CheckToken
+    @Transactional
+    public BulkResult deleteTasks(List<Long> taskIds, String authHeader) {
+        AuthenticatedUser user = principalContext.getUser();
+        Set<Long> owned = taskRepository.findIdsAssignedTo(taskIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()), user.id());
+        if (!owned.isEmpty()) {
+            recordEvent(TaskEventType.DELETED, owned);
+            taskRepository.deleteAllByIdInBatch(owned);
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(taskIds.size());
+        for (int i = 0; i < taskIds.size(); i++) {
+            Long taskId = taskIds.get(i);
+            results.add(taskId != null && owned.contains(taskId)
+                    ? BulkItemResult.ok(i, taskId, HttpStatus.NO_CONTENT.value())
+                    : BulkItemResult.failed(i, taskId, HttpStatus.NOT_FOUND.value(), "Task not found"));
+        }
+        return BulkResult.of(results);
+    }
+
+    /**
+     * Exports every task of a project owned by the authenticated user.
+     * Ownership is checked right away; the rows are written later, when the returned body runs
+     * on the async request thread, inside a read-only transaction that keeps the database cursor open.
+     * The first row is flushed as soon as it is read, then every {@value #EXPORT_FLUSH_INTERVAL} rows. The response
+     * stream is left open for Spring to complete.
+     *
+     * @param projectId - The ID of the project to export.
+     * @param format - NDJSON or a single JSON array.
+     * @param authHeader - Authorization token for user authentication.
+     * @return StreamingResponseBody - Writes the tasks to the response.
+     * @throws EntityNotFoundException - Thrown if the project is not found.
+     */
+    @CheckToken
+    public StreamingResponseBody exportProjectTasks(Long projectId, ExportFormat format, String authHeader) {
+        if (!projectRepository.existsByIdAndCreatedBy_Email(projectId, principalContext.getEmail())) {
+            throw new EntityNotFoundException("Project not found");
+        }
+
+        return out -> {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            transaction.executeWithoutResult(status -> {
+                try (Stream<TaskDTO> tasks = taskRepository.streamByProject(projectId);
+                     JsonGenerator json = exportGenerator(out)) {
+                    writeTasks(tasks, format, json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+    }
+
+    /**
+     * A generator that leaves the response stream open and writes NDJSON lines without the default space
+     * between root values.
+     */
+    private JsonGenerator exportGenerator(OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null);
+        return json;
+    }
+
+    private void writeTasks(Stream<TaskDTO> tasks, ExportFormat format, JsonGenerator json) throws IOException {
+        // The mapper flushes after every value by default, which would send each row on its own.
+        ObjectWriter rows = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        if (format == ExportFormat.JSON) {
+            json.writeStartArray();
+        }
+        long written = 0;
+        for (Iterator<TaskDTO> it = tasks.iterator(); it.hasNext(); ) {
+            rows.writeValue(json, it.next());
+            if (format == ExportFormat.NDJSON) {
+                json.writeRaw('\n');
+            }
+            if (++written % EXPORT_FLUSH_INTERVAL == 1) {
+                json.flush();
+            }
+        }
+        if (format == ExportFormat.JSON) {
+            json.writeEndArray();
+        }
+        log.info("Exported {} tasks", written);
+    }
+
+    /**
+     * Checks what the NOT NULL and length constraints of the tasks table would otherwise reject at flush,
+     * failing the whole batch.
+     *
+     * @return why the item can't be stored, or null if it can.
+     */
+    private static String checkRequired(String title, TaskPriority priority, TaskStatus status) {
+        if (title == null) {
+            return "title is required";
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            return "title must be at most " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (priority == null) {
+            return "priority is required";
+        }
+        if (status == null) {
+            return "status is required";
+        }
+        return null;
+    }
+
+    /**
+     * Adds the outbox events of a change in the caller's transaction; {@link TaskEventRelay} pushes them after commit.
+     *
+     * @param type - What happened to the tasks.
+     * @param taskIds - The IDs of the changed tasks; for deletions, called before the rows are removed.
+     */
+    private void recordEvent(TaskEventType type, Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            taskEventRepository.record(type.name(), taskIds);
+        }
+    }
+
     /**
      * Converts a TaskEntity to TaskDTO.
+     * Every task handled here is assigned to the caller, so the assignee's email comes from the principal
+     * and the lazy assignee reference is never initialized.
      *
      * @param task - The TaskEntity to convert.
+     * @param assignedToEmail - The email of the user the task is assigned to.
      * @return TaskDTO - The corresponding TaskDTO.
      */
-    private TaskDTO toTaskDTO(TaskEntity task) {
-        return new TaskDTO(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(), task.getStatus(), task.getAssignedTo().getEmail(), task.getDeadline(), task.getCreatedAt());
+    private TaskDTO toTaskDTO(TaskEntity task, String assignedToEmail) {
+        return new TaskDTO(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(), task.getStatus(), assignedToEmail, task.getDeadline(), task.getCreatedAt(), task.getVersion());
     }
 }
\ No newline at end of file
@@ -1,47 +1,241 @@
 package org.taskflow.com.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
+import io.lettuce.core.api.async.RedisKeyAsyncCommands;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import org.taskflow.com.model.ActiveSession;
+import org.taskflow.com.model.SessionPage;
+import org.taskflow.com.model.UserSession;
+import org.taskflow.com.service.RevocationService;
 import org.taskflow.com.service.TokenCacheService;
 
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Session store with one Redis key per token ({@code session:<id>}) that expires together
+ * with the JWT, plus a per-user set of session ids ({@code user-sessions:<email>}).
+ * The session id is the SHA-256 of the bearer token, so raw tokens never appear in key names.
+ * Deleted sessions are also put on the revocation list, since the JWT itself stays valid until it expires.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TokenCacheServiceImpl implements TokenCacheService {
+    static final String SESSION_KEY_PREFIX = "session:";
+    static final String USER_SESSIONS_KEY_PREFIX = "user-sessions:";
+    static final String LEGACY_TOKENS_KEY = "tokens";
+    static final String TOKEN_INVALIDATION_CHANNEL = "tokens:invalidate";
+    private static final Duration SCAN_TIMEOUT = Duration.ofSeconds(5);
+
     private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<String, String> tokenNearCache;
+    private final RevocationService revocationService;
+
+    @Value("${app.sessions.legacy-fallback:true}")
+    private boolean legacyFallback;
+
+    @Value("${app.sessions.legacy-ttl:180m}")
+    private Duration legacyTtl;
 
     @Override
-    public void saveToken(String token, String email) {
-        HashOperations<String, String, String> hashOps = redisTemplate.opsForHash();
-        hashOps.put("tokens", email, token);
-        log.info("Token and email saved: {} -> {}", token, email);
+    public void saveToken(String token, String email, Instant expiresAt) {
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            log.warn("Token for {} already expired at {}, not saved", email, expiresAt);
+            return;
+        }
+        String sessionId = sessionId(token);
+        String userSessionsKey = USER_SESSIONS_KEY_PREFIX + email;
+
+        redisTemplate.opsForValue().set(SESSION_KEY_PREFIX + sessionId, email, ttl);
+        redisTemplate.opsForSet().add(userSessionsKey, sessionId);
+        // Every token is issued with the same lifetime, so the newest one outlives the rest of the index.
+        redisTemplate.expire(userSessionsKey, ttl);
+        log.info("Session {} saved for {} until {}", sessionId, email, expiresAt);
     }
 
+    /**
+     * Served from the near-cache when possible; misses fall through to Redis.
+     * Unknown tokens are not cached, so a token saved on another node is visible immediately.
+     */
     @Override
     public String getEmailByToken(String token) {
-        HashOperations<String, String, String> hashOps = redisTemplate.opsForHash();
-        String email = hashOps.get("tokens", token);
-        log.info("Fetching email for token: {} -> {}", token, email);
+        String sessionId = sessionId(token);
+        String email = tokenNearCache.get(sessionId, id -> loadEmail(id, token));
+        log.debug("Fetching email for session: {} -> {}", sessionId, email);
         return email;
     }
 
     @Override
     public void deleteToken(String token) {
-        HashOperations<String, String, String> hashOps = redisTemplate.opsForHash();
-        hashOps.delete("tokens", token);
-        log.info("Token deleted: {}", token);
+        String sessionId = sessionId(token);
+        String email = redisTemplate.opsForValue().getAndDelete(SESSION_KEY_PREFIX + sessionId);
+        if (email != null) {
+            redisTemplate.opsForSet().remove(USER_SESSIONS_KEY_PREFIX + email, sessionId);
+        }
+        invalidate(sessionId);
+        revocationService.revoke(sessionId, latestTokenExpiry());
+        log.info("Session deleted: {}", sessionId);
+    }
+
+    /**
+     * Lists the live sessions of a user. Ids whose session key has already expired are pruned from the index.
+     */
+    @Override
+    public List<UserSession> getSessions(String email) {
+        String userSessionsKey = USER_SESSIONS_KEY_PREFIX + email;
+        List<String> sessionIds = new ArrayList<>(membersOf(userSessionsKey));
+        if (sessionIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> ttls = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            sessionIds.forEach(id -> connection.keyCommands().pTtl(
+                    (SESSION_KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8)));
+            return null;
+        });
+
+        Instant now = Instant.now();
+        List<UserSession> sessions = new ArrayList<>();
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < sessionIds.size(); i++) {
+            long ttlMillis = (Long) ttls.get(i);
+            if (ttlMillis > 0) {
+                sessions.add(new UserSession(sessionIds.get(i), now.plusMillis(ttlMillis)));
+            } else {
+                expired.add(sessionIds.get(i));
+            }
+        }
+        if (!expired.isEmpty()) {
+            redisTemplate.opsForSet().remove(userSessionsKey, expired.toArray());
+        }
+        return sessions;
+    }
+
+    /**
+     * Revokes every session of a user in one call.
+     */
+    @Override
+    public void deleteSessions(String email) {
+        String userSessionsKey = USER_SESSIONS_KEY_PREFIX + email;
+        Set<String> sessionIds = membersOf(userSessionsKey);
+
+        List<String> keys = new ArrayList<>(sessionIds.size() + 1);
+        sessionIds.forEach(id -> keys.add(SESSION_KEY_PREFIX + id));
+        keys.add(userSessionsKey);
+        redisTemplate.delete(keys);
+
+        Instant expiresAt = latestTokenExpiry();
+        sessionIds.forEach(id -> {
+            invalidate(id);
+            revocationService.revoke(id, expiresAt);
+        });
+        log.info("Deleted {} sessions for {}", sessionIds.size(), email);
     }
 
+    /**
+     * Runs a single SCAN step from the given cursor. Redis treats {@code size} as a hint,
+     * so a page may hold a few more or fewer sessions.
+     */
     @Override
-    public Map<String, String> getAllTokens() {
+    public SessionPage getSessionPage(String cursor, int size) {
+        KeyScanCursor<byte[]> page = redisTemplate.execute((RedisCallback<KeyScanCursor<byte[]>>) connection -> {
+            // Spring's Cursor cannot resume from a cursor id handed out to a client, so the step goes through Lettuce.
+            @SuppressWarnings("unchecked")
+            RedisKeyAsyncCommands<byte[], byte[]> commands = (RedisKeyAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+            return LettuceFutures.awaitOrCancel(
+                    commands.scan(ScanCursor.of(cursor), ScanArgs.Builder.matches(SESSION_KEY_PREFIX + "*").limit(size)),
+                    SCAN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        });
+
+        List<String> keys = page.getKeys().stream()
+                .map(key -> new String(key, StandardCharsets.UTF_8))
+                .toList();
+        return new SessionPage(resolveSessions(keys), page.isFinished() ? null : page.getCursor());
+    }
+
+    /**
+     * Moves a token from the legacy {@code tokens} hash into the per-session layout.
+     * Legacy entries carry no expiry, so they get the full token lifetime.
+     *
+     * @return the email the token belonged to, or null if the hash does not contain it.
+     */
+    String migrateLegacyToken(String token) {
         HashOperations<String, String, String> hashOps = redisTemplate.opsForHash();
-        Map<String, String> tokens = hashOps.entries("tokens");
-        log.info("Fetched all tokens: {}", tokens);
-        return tokens;
+        String email = hashOps.get(LEGACY_TOKENS_KEY, token);
+        if (email != null) {
+            saveToken(token, email, Instant.now().plus(legacyTtl));
+            hashOps.delete(LEGACY_TOKENS_KEY, token);
+        }
+        return email;
+    }
+
+    /**
+     * Derives the session id of a token: the hex SHA-256 of its text, so the token itself never becomes a key.
+     */
+    public static String sessionId(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String loadEmail(String sessionId, String token) {
+        String email = redisTemplate.opsForValue().get(SESSION_KEY_PREFIX + sessionId);
+        if (email == null && legacyFallback) {
+            email = migrateLegacyToken(token);
+        }
+        return email;
+    }
+
+    private List<ActiveSession> resolveSessions(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<String> emails = redisTemplate.opsForValue().multiGet(keys);
+        List<ActiveSession> sessions = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            // A key may expire between SCAN and MGET.
+            if (emails.get(i) != null) {
+                sessions.add(new ActiveSession(keys.get(i).substring(SESSION_KEY_PREFIX.length()), emails.get(i)));
+            }
+        }
+        return sessions;
+    }
+
+    private Set<String> membersOf(String userSessionsKey) {
+        Set<String> members = redisTemplate.opsForSet().members(userSessionsKey);
+        return members == null ? Set.of() : members;
+    }
+
+    // The exact expiry is gone with the session key; no token outlives one issued right now.
+    private static Instant latestTokenExpiry() {
+        return Instant.now().plus(SecurityServiceImpl.TOKEN_TTL);
+    }
+
+    private void invalidate(String sessionId) {
+        tokenNearCache.invalidate(sessionId);
+        redisTemplate.convertAndSend(TOKEN_INVALIDATION_CHANNEL, sessionId);
     }
 }
@@ -0,0 +1,37 @@
+package org.taskflow.com.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Drops sessions from the local near-cache when any node deletes them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenInvalidationListener implements MessageListener {
+
+    private final Cache<String, String> tokenNearCache;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(TokenCacheServiceImpl.TOKEN_INVALIDATION_CHANNEL));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String sessionId = new String(message.getBody(), StandardCharsets.UTF_8);
+        tokenNearCache.invalidate(sessionId);
+        log.debug("Session invalidated in near-cache: {}", sessionId);
+    }
+}
@@ -0,0 +1,44 @@
+package org.taskflow.com.service.impl;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.taskflow.com.entity.UserEntity;
+import org.taskflow.com.mapper.MapperSecurity;
+import org.taskflow.com.model.UserSnapshot;
+import org.taskflow.com.service.UserCacheService;
+
+/**
+ * JPA listener on {@link UserEntity} that drops the cached snapshots of a changed user.
+ * The eviction is repeated after commit, so a concurrent read cannot put the old row back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+
+    // Resolved lazily: the cache service depends on the repository, which is built from the entity manager that owns this listener.
+    private final ObjectProvider<UserCacheService> userCacheService;
+    private final MapperSecurity mapperSecurity;
+
+    @PostUpdate
+    @PostRemove
+    void onChange(UserEntity user) {
+        UserSnapshot snapshot = mapperSecurity.toUserSnapshot(user);
+        userCacheService.getObject().evict(snapshot);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userCacheService.getObject().evict(snapshot);
+                }
+            });
+        }
+        log.debug("Evicted cached user {}", user.getId());
+    }
+}
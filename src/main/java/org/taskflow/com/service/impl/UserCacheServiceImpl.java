@@ -0,0 +1,50 @@
+package org.taskflow.com.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.taskflow.com.mapper.MapperSecurity;
+import org.taskflow.com.model.UserSnapshot;
+import org.taskflow.com.repository.UserRepository;
+import org.taskflow.com.service.UserCacheService;
+
+import java.util.Optional;
+
+/**
+ * User snapshots cached by email and by id in the two-level cache (local Caffeine in front of Redis).
+ * Unknown users are not cached, so a freshly registered user is found at once.
+ * Entries are evicted by {@link UserCacheEvictionListener} whenever a user row changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserCacheServiceImpl implements UserCacheService {
+    public static final String USERS_BY_EMAIL = "usersByEmail";
+    public static final String USERS_BY_ID = "usersById";
+
+    private final UserRepository userRepository;
+    private final MapperSecurity mapperSecurity;
+
+    @Override
+    @Cacheable(cacheNames = USERS_BY_EMAIL, unless = "#result == null")
+    public Optional<UserSnapshot> findByEmail(String email) {
+        return userRepository.findByEmail(email).map(mapperSecurity::toUserSnapshot);
+    }
+
+    @Override
+    @Cacheable(cacheNames = USERS_BY_ID, unless = "#result == null")
+    public Optional<UserSnapshot> findById(Long id) {
+        return userRepository.findById(id).map(mapperSecurity::toUserSnapshot);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = USERS_BY_EMAIL, key = "#user.email()"),
+            @CacheEvict(cacheNames = USERS_BY_ID, key = "#user.id()")
+    })
+    public void evict(UserSnapshot user) {
+    }
+}
@@ -55,4 +55,8 @@ public class UserDetailsImpl implements UserDetails {
         return true;
     }
 
+    public Role getRole() {
+        return role;
+    }
+
 }
\ No newline at end of file
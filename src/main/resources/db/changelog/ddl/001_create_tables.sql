@@ -2,7 +2,7 @@
 -- changeset kate:1
 
 CREATE TABLE users (
-                       id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                       id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
                        email VARCHAR(255) NOT NULL UNIQUE,
                        password VARCHAR(255) NOT NULL,
                        name VARCHAR(255) NOT NULL,
@@ -12,7 +12,7 @@ CREATE TABLE users (
 
 
 CREATE TABLE projects (
-                          id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                          id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
                           name VARCHAR(255) NOT NULL,
                           description TEXT,
                           created_by BIGINT NOT NULL,
@@ -21,7 +21,7 @@ CREATE TABLE projects (
 );
 
 CREATE TABLE tasks (
-                       id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                       id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
                        title VARCHAR(255) NOT NULL,
                        description TEXT,
                        priority VARCHAR(50) NOT NULL,
@@ -0,0 +1,17 @@
+-- liquibase formatted sql
+-- changeset kate:2
+
+-- Ids are allocated by Hibernate in blocks of 50 (pooled-lo), so the identity columns from 001 are replaced with
+-- sequences stepping by 50 and the id columns keep no default. Each sequence starts past the highest existing id,
+-- and the setval calls never move a sequence back.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE projects ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS users_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS projects_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tasks_id_seq INCREMENT BY 50;
+
+SELECT setval('users_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM users), (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM users_id_seq)), false);
+SELECT setval('projects_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM projects), (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM projects_id_seq)), false);
+SELECT setval('tasks_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM tasks), (SELECT last_value + CASE WHEN is_called THEN 50 ELSE 0 END FROM tasks_id_seq)), false);
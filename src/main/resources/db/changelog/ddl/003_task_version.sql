@@ -0,0 +1,5 @@
+-- liquibase formatted sql
+-- changeset kate:3
+
+-- Optimistic locking for tasks: every update bumps the version and conditional updates check it.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
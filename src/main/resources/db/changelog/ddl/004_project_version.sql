@@ -0,0 +1,5 @@
+-- liquibase formatted sql
+-- changeset kate:4
+
+-- Version of each project, bumped on every update; it backs the ETags of the project endpoints.
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+-- changeset kate:5
+
+-- Full-text search over tasks: titles weigh more than descriptions. The column is maintained by Postgres.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
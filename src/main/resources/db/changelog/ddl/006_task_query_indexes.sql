@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+-- changeset kate:6
+
+-- Access paths of the task listing and query API.
+CREATE INDEX IF NOT EXISTS idx_tasks_assigned_to_id ON tasks (assigned_to, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_assigned_to_status_deadline ON tasks (assigned_to, status, deadline);
+CREATE INDEX IF NOT EXISTS idx_tasks_project_id_status ON tasks (project_id, status);
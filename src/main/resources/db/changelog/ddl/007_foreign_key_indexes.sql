@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+-- changeset kate:7 runInTransaction:false
+
+-- Built concurrently so existing databases keep taking writes while the indexes are created.
+-- tasks.assigned_to and tasks.project_id are already the leading columns of the indexes from 006.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_created_by ON projects (created_by);
+
+-- Deadline reminders only look at assigned tasks in the next hour; tasks without an assignee or a deadline stay out.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_upcoming_deadline ON tasks (deadline)
+    WHERE deadline IS NOT NULL AND assigned_to IS NOT NULL;
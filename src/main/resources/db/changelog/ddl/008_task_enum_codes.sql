@@ -0,0 +1,42 @@
+-- liquibase formatted sql
+-- changeset kate:8
+
+-- Status and priority move from free-form VARCHAR(50) to the SMALLINT codes of TaskStatus and TaskPriority.
+-- Values are matched like the Java parser does: case-insensitive, with spaces and dashes read as underscores.
+-- Rows with a value the parser would reject are copied to task_enum_unmapped first, with their original text,
+-- and then stored as Open / Medium; review that table after the upgrade. The name lists below must match the
+-- CASE expressions of the ALTER. The table is rewritten once and the indexes on status are rebuilt.
+CREATE TABLE IF NOT EXISTS task_enum_unmapped (
+    task_id BIGINT PRIMARY KEY,
+    status VARCHAR(50),
+    priority VARCHAR(50),
+    copied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO task_enum_unmapped (task_id, status, priority)
+SELECT id, status, priority FROM tasks
+WHERE upper(regexp_replace(trim(status), '[[:space:]-]+', '_', 'g')) NOT IN (
+        'OPEN', 'PENDING', 'TODO', 'TO_DO', 'NEW',
+        'IN_PROGRESS', 'INPROGRESS', 'STARTED', 'DOING',
+        'BLOCKED', 'ON_HOLD',
+        'DONE', 'COMPLETED', 'COMPLETE', 'CLOSED', 'RESOLVED')
+   OR upper(regexp_replace(trim(priority), '[[:space:]-]+', '_', 'g')) NOT IN (
+        'LOW', 'MINOR',
+        'MEDIUM', 'NORMAL',
+        'HIGH', 'MAJOR',
+        'CRITICAL', 'URGENT', 'HIGHEST')
+ON CONFLICT (task_id) DO NOTHING;
+
+ALTER TABLE tasks
+    ALTER COLUMN status TYPE SMALLINT USING CASE upper(regexp_replace(trim(status), '[[:space:]-]+', '_', 'g'))
+        WHEN 'IN_PROGRESS' THEN 2 WHEN 'INPROGRESS' THEN 2 WHEN 'STARTED' THEN 2 WHEN 'DOING' THEN 2
+        WHEN 'BLOCKED' THEN 3 WHEN 'ON_HOLD' THEN 3
+        WHEN 'DONE' THEN 4 WHEN 'COMPLETED' THEN 4 WHEN 'COMPLETE' THEN 4 WHEN 'CLOSED' THEN 4 WHEN 'RESOLVED' THEN 4
+        ELSE 1 END,
+    ALTER COLUMN priority TYPE SMALLINT USING CASE upper(regexp_replace(trim(priority), '[[:space:]-]+', '_', 'g'))
+        WHEN 'LOW' THEN 1 WHEN 'MINOR' THEN 1
+        WHEN 'HIGH' THEN 3 WHEN 'MAJOR' THEN 3
+        WHEN 'CRITICAL' THEN 4 WHEN 'URGENT' THEN 4 WHEN 'HIGHEST' THEN 4
+        ELSE 2 END,
+    ADD CONSTRAINT ck_tasks_status CHECK (status BETWEEN 1 AND 4),
+    ADD CONSTRAINT ck_tasks_priority CHECK (priority BETWEEN 1 AND 4);
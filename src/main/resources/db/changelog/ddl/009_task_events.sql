@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+-- changeset kate:9
+
+-- Transactional outbox of task changes. Rows are inserted in the transaction that changes the task
+-- and deleted by the relay once pushed to WebSocket subscribers; the relay reads them oldest first.
+CREATE TABLE IF NOT EXISTS task_events (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    project_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    task_version BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
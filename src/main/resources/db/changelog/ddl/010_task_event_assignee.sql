@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+-- changeset kate:10
+
+-- Email of the assignee at the time of the change, used as the STOMP user name when the relay
+-- sends the change to /user/queue/tasks. Kept on the event so deletions still reach the assignee.
+ALTER TABLE task_events ADD COLUMN IF NOT EXISTS assignee_email VARCHAR(255);
@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+-- changeset kate:11
+
+-- Set when a relay hands the event to the coalescer; the row is deleted once the change has been sent.
+-- Until then other relay runs skip it, and after this time it is picked up again, so changes held by a
+-- node that stopped before sending them are still delivered.
+ALTER TABLE task_events ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
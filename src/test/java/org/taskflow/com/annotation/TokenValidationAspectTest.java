@@ -0,0 +1,94 @@
+package org.taskflow.com.annotation;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.taskflow.com.enums.Role;
+import org.taskflow.com.model.AuthenticatedUser;
+import org.taskflow.com.model.UserSnapshot;
+import org.taskflow.com.service.IdentityResolver;
+import org.taskflow.com.service.UserCacheService;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenValidationAspectTest {
+
+    @Mock
+    private IdentityResolver identityResolver;
+
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private ProceedingJoinPoint outerCall;
+
+    @Mock
+    private ProceedingJoinPoint innerCall;
+
+    private PrincipalContext principalContext;
+    private TokenValidationAspect aspect;
+
+    private final String authHeader = "Bearer token";
+    private final String email = "user@example.com";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        principalContext = new PrincipalContext(userCacheService);
+        aspect = new TokenValidationAspect(identityResolver, principalContext);
+
+        when(outerCall.getArgs()).thenReturn(new Object[]{1L, authHeader});
+        when(innerCall.getArgs()).thenReturn(new Object[]{authHeader});
+        when(identityResolver.resolve(authHeader)).thenReturn(new AuthenticatedUser(null, email, null));
+        when(userCacheService.findByEmail(email)).thenReturn(Optional.of(new UserSnapshot(7L, email, "hash", Role.MANAGER)));
+    }
+
+    @Test
+    void checkTokenAndEmail_ShouldResolvePrincipalOncePerCall() throws Throwable {
+        when(innerCall.proceed()).thenAnswer(invocation -> principalContext.getUser().id());
+        when(outerCall.proceed()).thenAnswer(invocation -> {
+            assertEquals(email, principalContext.getEmail());
+            assertEquals(Role.MANAGER, principalContext.getUser().role());
+            return aspect.checkTokenAndEmail(innerCall);
+        });
+
+        Object result = aspect.checkTokenAndEmail(outerCall);
+
+        assertEquals(7L, result);
+        verify(identityResolver, times(1)).resolve(authHeader);
+        verify(userCacheService, times(1)).findByEmail(email);
+        assertThrows(IllegalStateException.class, principalContext::getEmail);
+    }
+
+    @Test
+    void checkTokenAndEmail_ShouldUseIdentityFromToken_WithoutUserQuery() throws Throwable {
+        when(identityResolver.resolve(authHeader)).thenReturn(new AuthenticatedUser(7L, email, Role.MANAGER));
+        when(outerCall.proceed()).thenAnswer(invocation -> principalContext.getUser());
+
+        Object result = aspect.checkTokenAndEmail(outerCall);
+
+        assertEquals(new AuthenticatedUser(7L, email, Role.MANAGER), result);
+        verifyNoInteractions(userCacheService);
+    }
+
+    @Test
+    void checkTokenAndEmail_ShouldRejectUnknownToken() {
+        when(identityResolver.resolve(authHeader)).thenReturn(null);
+
+        assertThrows(EntityNotFoundException.class, () -> aspect.checkTokenAndEmail(outerCall));
+    }
+
+    @Test
+    void checkTokenAndEmail_ShouldRejectMissingHeader() {
+        when(outerCall.getArgs()).thenReturn(new Object[]{1L});
+
+        assertThrows(EntityNotFoundException.class, () -> aspect.checkTokenAndEmail(outerCall));
+        verifyNoInteractions(identityResolver);
+    }
+}
@@ -0,0 +1,139 @@
+package org.taskflow.com.benchmark;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.openjdk.jmh.annotations.*;
+import org.taskflow.com.annotation.PrincipalContext;
+import org.taskflow.com.annotation.TokenValidationAspect;
+import org.taskflow.com.enums.Role;
+import org.taskflow.com.model.AuthenticatedUser;
+import org.taskflow.com.model.SessionPage;
+import org.taskflow.com.model.UserSnapshot;
+import org.taskflow.com.model.UserSession;
+import org.taskflow.com.service.TokenCacheService;
+import org.taskflow.com.service.UserCacheService;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of resolving the caller of a {@link org.taskflow.com.annotation.CheckToken} service method.
+ * <p>
+ * {@code perCallLookups} replays the old flow: the aspect looks the token up, the service method looks it up
+ * again and then loads the user by email. {@code principalContext} runs the real aspect, which resolves the token
+ * once and lets the method read id and role from {@link PrincipalContext}.
+ * The token store and user lookups are replaced by stubs that spin for {@code roundTripMicros} per call.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=PrincipalResolutionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrincipalResolutionBenchmark {
+
+    private static final String AUTH_HEADER = "Bearer token";
+    private static final String EMAIL = "user@example.com";
+
+    @Param({"0", "50", "200"})
+    public long roundTripMicros;
+
+    private TokenCacheService tokenCacheService;
+    private UserCacheService userCacheService;
+    private TokenValidationAspect aspect;
+    private PrincipalContext principalContext;
+    private ProceedingJoinPoint serviceCall;
+
+    @Setup
+    public void setUp() {
+        tokenCacheService = new StubTokenCacheService();
+        userCacheService = new StubUserCacheService();
+        principalContext = new PrincipalContext(userCacheService);
+        aspect = new TokenValidationAspect(
+                authHeader -> new AuthenticatedUser(null, tokenCacheService.getEmailByToken(authHeader), null),
+                principalContext);
+
+        Object[] args = {AUTH_HEADER};
+        serviceCall = (ProceedingJoinPoint) Proxy.newProxyInstance(
+                ProceedingJoinPoint.class.getClassLoader(),
+                new Class<?>[]{ProceedingJoinPoint.class},
+                (proxy, method, methodArgs) -> switch (method.getName()) {
+                    case "getArgs" -> args;
+                    case "proceed" -> principalContext.getUser().id();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Benchmark
+    public Long perCallLookups() {
+        tokenCacheService.getEmailByToken(AUTH_HEADER);
+        String email = tokenCacheService.getEmailByToken(AUTH_HEADER);
+        return userCacheService.findByEmail(email).orElseThrow().id();
+    }
+
+    @Benchmark
+    public Object principalContext() throws Throwable {
+        return aspect.checkTokenAndEmail(serviceCall);
+    }
+
+    private void roundTrip() {
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private class StubUserCacheService implements UserCacheService {
+        private final UserSnapshot user = new UserSnapshot(1L, EMAIL, "hash", Role.USER);
+
+        @Override
+        public Optional<UserSnapshot> findByEmail(String email) {
+            roundTrip();
+            return Optional.of(user);
+        }
+
+        @Override
+        public Optional<UserSnapshot> findById(Long id) {
+            roundTrip();
+            return Optional.of(user);
+        }
+
+        @Override
+        public void evict(UserSnapshot user) {
+        }
+    }
+
+    private class StubTokenCacheService implements TokenCacheService {
+        @Override
+        public void saveToken(String token, String email, Instant expiresAt) {
+        }
+
+        @Override
+        public String getEmailByToken(String token) {
+            roundTrip();
+            return EMAIL;
+        }
+
+        @Override
+        public void deleteToken(String token) {
+        }
+
+        @Override
+        public List<UserSession> getSessions(String email) {
+            return List.of();
+        }
+
+        @Override
+        public void deleteSessions(String email) {
+        }
+
+        @Override
+        public SessionPage getSessionPage(String cursor, int size) {
+            return new SessionPage(List.of(), null);
+        }
+    }
+}
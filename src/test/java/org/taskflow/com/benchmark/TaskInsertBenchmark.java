@@ -0,0 +1,128 @@
+package org.taskflow.com.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.taskflow.com.enums.TaskStatus;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task inserts per second with the two id strategies, replaying the statements Hibernate sends for each.
+ * <p>
+ * {@code identity} is the old mapping: one {@code INSERT ... RETURNING id} round trip per row, since Hibernate
+ * needs the generated id before it can go on. {@code pooledSequence} is the current one: one {@code nextval}
+ * per 50 ids (pooled-lo) and the inserts sent as JDBC batches of 50, which the driver rewrites into multi-row
+ * statements. Each invocation inserts {@value #ROWS} rows into temporary tables and commits.
+ * <p>
+ * Needs a running Postgres, taken from the same {@code SPRING_DATASOURCE_*} variables as the application.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=TaskInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskInsertBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int ALLOCATION_SIZE = 50;
+
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/taskflow");
+        connection = DriverManager.getConnection(
+                url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true",
+                env("SPRING_DATASOURCE_USERNAME", "root"),
+                env("SPRING_DATASOURCE_PASSWORD", "123456789"));
+        connection.setAutoCommit(false);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TEMP TABLE bench_identity_tasks (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "title VARCHAR(255) NOT NULL, status SMALLINT NOT NULL, project_id BIGINT NOT NULL)");
+            ddl.execute("CREATE TEMP TABLE bench_sequence_tasks (id BIGINT PRIMARY KEY, "
+                    + "title VARCHAR(255) NOT NULL, status SMALLINT NOT NULL, project_id BIGINT NOT NULL)");
+            ddl.execute("CREATE TEMP SEQUENCE bench_sequence_tasks_id_seq INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("TRUNCATE bench_identity_tasks, bench_sequence_tasks");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long identity() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_identity_tasks (title, status, project_id) VALUES (?, ?, ?) RETURNING id")) {
+            for (int i = 0; i < ROWS; i++) {
+                bind(insert, i);
+                try (ResultSet id = insert.executeQuery()) {
+                    id.next();
+                    lastId = id.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long pooledSequence() throws SQLException {
+        long nextId = 0;
+        long blockEnd = 0;
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('bench_sequence_tasks_id_seq')");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO bench_sequence_tasks (id, title, status, project_id) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                if (nextId == blockEnd) {
+                    try (ResultSet block = nextval.executeQuery()) {
+                        block.next();
+                        nextId = block.getLong(1);
+                        blockEnd = nextId + ALLOCATION_SIZE;
+                    }
+                }
+                insert.setLong(1, nextId++);
+                insert.setString(2, "Task " + i);
+                insert.setShort(3, TaskStatus.OPEN.getCode());
+                insert.setLong(4, 1L);
+                insert.addBatch();
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return nextId;
+    }
+
+    private static void bind(PreparedStatement insert, int i) throws SQLException {
+        insert.setString(1, "Task " + i);
+        insert.setShort(2, TaskStatus.OPEN.getCode());
+        insert.setLong(3, 1L);
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
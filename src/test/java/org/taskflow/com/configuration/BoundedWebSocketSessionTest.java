@@ -0,0 +1,188 @@
+package org.taskflow.com.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompDecoder;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.taskflow.com.enums.OutboundOverflowPolicy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedWebSocketSessionTest {
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService stalledSender = Executors.newSingleThreadExecutor();
+    private SimpleMeterRegistry meterRegistry;
+    private WebSocketSession delegate;
+    private OutboundSessionBuffers buffers;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn("s1");
+        when(delegate.isOpen()).thenReturn(true);
+        // The first send blocks like a client that stopped reading, until the test releases it.
+        doAnswer(invocation -> {
+            WebSocketMessage<?> message = invocation.getArgument(0);
+            if (sent.isEmpty()) {
+                sending.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            sent.add(((TextMessage) message).getPayload());
+            return null;
+        }).when(delegate).sendMessage(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stalledSender.shutdownNow();
+    }
+
+    @Test
+    void sendMessage_ShouldDropOldestFrames_WhenBufferIsFull() throws Exception {
+        BoundedWebSocketSession session = session(OutboundOverflowPolicy.DROP_OLDEST, 10_000);
+        Future<?> first = stall(session, "f0");
+
+        for (int i = 1; i <= 5; i++) {
+            session.sendMessage(new TextMessage("f" + i));
+        }
+        assertEquals(3, session.getBufferedFrames());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("f0", "f3", "f4", "f5"), sent);
+        assertEquals(2.0, meterRegistry.get("websocket.session.dropped").counter().count());
+        assertEquals(2.0, meterRegistry.get("websocket.session.overflow").tag("policy", "DROP_OLDEST").counter().count());
+    }
+
+    @Test
+    void sendMessage_ShouldMergeTaskChangesPerSubscription_WhenCoalescing() throws Exception {
+        BoundedWebSocketSession session = session(OutboundOverflowPolicy.COALESCE, 10_000);
+        Future<?> first = stall(session, "f0");
+
+        session.sendMessage(frame("sub-1", "[{\"task_id\":1,\"version\":1},{\"task_id\":2,\"version\":1}]"));
+        session.sendMessage(frame("sub-2", "[{\"task_id\":3,\"version\":1}]"));
+        session.sendMessage(frame("sub-1", "[{\"task_id\":1,\"version\":2}]"));
+        session.sendMessage(frame("sub-1", "[{\"task_id\":2,\"version\":5}]"));
+        assertEquals(2, session.getBufferedFrames());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, sent.size());
+        assertEquals("[{\"task_id\":3,\"version\":1}]", body(sent.get(1), "sub-2"));
+        assertEquals("[{\"task_id\":1,\"version\":2},{\"task_id\":2,\"version\":5}]", body(sent.get(2), "sub-1"));
+        assertEquals(0.0, meterRegistry.get("websocket.session.dropped").counter().count());
+    }
+
+    @Test
+    void sendMessage_ShouldDisconnect_WhenPolicyIsDisconnect() throws Exception {
+        BoundedWebSocketSession session = session(OutboundOverflowPolicy.DISCONNECT, 10_000);
+        stall(session, "f0");
+
+        for (int i = 1; i <= 3; i++) {
+            session.sendMessage(new TextMessage("f" + i));
+        }
+        assertThrows(SessionLimitExceededException.class, () -> session.sendMessage(new TextMessage("f4")));
+
+        session.sendMessage(new TextMessage("f5"));
+        release.countDown();
+        assertEquals(4, session.getBufferedFrames());
+    }
+
+    @Test
+    void sendMessage_ShouldDisconnect_WhenSendIsBlockedLongerThanTimeLimit() throws Exception {
+        BoundedWebSocketSession session = session(OutboundOverflowPolicy.DROP_OLDEST, 10);
+        stall(session, "f0");
+        Thread.sleep(50);
+
+        assertThrows(SessionLimitExceededException.class, () -> session.sendMessage(new TextMessage("f1")));
+        release.countDown();
+    }
+
+    @Test
+    void backlogGauges_ShouldCoverOpenSessions() throws Exception {
+        BoundedWebSocketSession session = session(OutboundOverflowPolicy.DROP_OLDEST, 10_000);
+        Future<?> first = stall(session, "f0");
+        session.sendMessage(new TextMessage("f1"));
+        session.sendMessage(new TextMessage("f2"));
+
+        assertEquals(2.0, meterRegistry.get("websocket.session.backlog.max").gauge().value());
+        assertEquals(2.0, meterRegistry.get("websocket.session.backlog.total").gauge().value());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(0.0, meterRegistry.get("websocket.session.backlog.total").gauge().value());
+    }
+
+    @Test
+    void release_ShouldDropClosedSessionFromBacklogGauges() throws Exception {
+        BoundedWebSocketSession session = session(OutboundOverflowPolicy.DROP_OLDEST, 10_000);
+        Future<?> first = stall(session, "f0");
+        session.sendMessage(new TextMessage("f1"));
+        assertEquals(1.0, meterRegistry.get("websocket.session.backlog.total").gauge().value());
+
+        buffers.release(delegate);
+
+        assertEquals(0.0, meterRegistry.get("websocket.session.backlog.total").gauge().value());
+        assertEquals(0.0, meterRegistry.get("websocket.session.backlog.max").gauge().value());
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    private BoundedWebSocketSession session(OutboundOverflowPolicy policy, int sendTimeLimit) {
+        buffers = new OutboundSessionBuffers(new ObjectMapper(), meterRegistry, policy, 3);
+        return (BoundedWebSocketSession) buffers.decorate(delegate, sendTimeLimit, 64 * 1024);
+    }
+
+    private Future<?> stall(BoundedWebSocketSession session, String payload) throws InterruptedException {
+        Future<?> future = stalledSender.submit(() -> {
+            session.sendMessage(new TextMessage(payload));
+            return null;
+        });
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        return future;
+    }
+
+    private static TextMessage frame(String subscription, String json) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setSubscriptionId(subscription);
+        accessor.setDestination("/task-status/projects/1");
+        accessor.setMessageId("m");
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return new TextMessage(new StompEncoder().encode(MessageBuilder.createMessage(body, accessor.getMessageHeaders())));
+    }
+
+    private static String body(String frame, String expectedSubscription) {
+        List<Message<byte[]>> decoded = new StompDecoder().decode(ByteBuffer.wrap(frame.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, decoded.size());
+        assertEquals(expectedSubscription, StompHeaderAccessor.wrap(decoded.get(0)).getSubscriptionId());
+        return new String(decoded.get(0).getPayload(), StandardCharsets.UTF_8);
+    }
+}
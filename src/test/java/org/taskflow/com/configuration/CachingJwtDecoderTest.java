@@ -0,0 +1,77 @@
+package org.taskflow.com.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingJwtDecoderTest {
+
+    @Mock
+    private JwtDecoder delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    @Test
+    void decode_ShouldVerifyTokenOnce() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(60));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        assertSame(jwt, decoder.decode("token"));
+        assertSame(jwt, decoder.decode("token"));
+
+        verify(delegate, times(1)).decode("token");
+        assertEquals(1, meterRegistry.get("jwt.verification").timer().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "verifiedJwtCache").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void decode_ShouldNotServeExpiredToken() {
+        when(delegate.decode("token"))
+                .thenReturn(jwt("token", Instant.now().minusSeconds(1)))
+                .thenThrow(new BadJwtException("expired"));
+
+        decoder.decode("token");
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("token"));
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void decode_ShouldNotCacheRejectedToken() {
+        when(delegate.decode("bad")).thenThrow(new BadJwtException("bad signature"));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+
+        verify(delegate, times(2)).decode("bad");
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("1")
+                .issuedAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package org.taskflow.com.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.taskflow.com.service.impl.InMemoryClusterMessageBus;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.*;
+
+class ClusterBrokerRelayTest {
+
+    private final InMemoryClusterMessageBus bus = new InMemoryClusterMessageBus();
+    private MessageChannel brokerChannelA;
+    private MessageChannel brokerChannelB;
+    private ClusterBrokerRelay nodeA;
+    private SimpleMeterRegistry registryB;
+
+    @BeforeEach
+    void setUp() {
+        brokerChannelA = mock(MessageChannel.class);
+        brokerChannelB = mock(MessageChannel.class);
+        registryB = new SimpleMeterRegistry();
+        nodeA = new ClusterBrokerRelay(bus, provider(brokerChannelA), new SimpleMeterRegistry(), "/task-status", "/user/");
+        new ClusterBrokerRelay(bus, provider(brokerChannelB), registryB, "/task-status", "/user/");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void preSend_ShouldDeliverBrokerMessageToOtherNodesOnly() {
+        byte[] payload = "{\"task_id\":1}".getBytes(StandardCharsets.UTF_8);
+        Message<byte[]> message = message(SimpMessageType.MESSAGE, "/task-status/projects/1", payload);
+
+        assertEquals(message, nodeA.preSend(message, brokerChannelA));
+
+        ArgumentCaptor<Message<byte[]>> relayed = ArgumentCaptor.forClass(Message.class);
+        verify(brokerChannelB, times(1)).send(relayed.capture());
+        verifyNoInteractions(brokerChannelA);
+        assertArrayEquals(payload, relayed.getValue().getPayload());
+        assertEquals("/task-status/projects/1", SimpMessageHeaderAccessor.getDestination(relayed.getValue().getHeaders()));
+        assertNotNull(relayed.getValue().getHeaders().get(ClusterBrokerRelay.ORIGIN_HEADER));
+        assertEquals(1.0, registryB.get("websocket.cluster.messages").tag("direction", "received").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void preSend_ShouldRelayUserDestinationsUnresolved() {
+        nodeA.preSend(message(SimpMessageType.MESSAGE, "/user/alice@example.com/queue/tasks", new byte[0]), brokerChannelA);
+        nodeA.preSend(message(SimpMessageType.MESSAGE, "/queue/tasks-user1a2b", new byte[0]), brokerChannelA);
+
+        ArgumentCaptor<Message<byte[]>> relayed = ArgumentCaptor.forClass(Message.class);
+        verify(brokerChannelB, times(1)).send(relayed.capture());
+        assertEquals("/user/alice@example.com/queue/tasks",
+                SimpMessageHeaderAccessor.getDestination(relayed.getValue().getHeaders()));
+    }
+
+    @Test
+    void preSend_ShouldNotPublishMessagesReceivedFromOtherNodes() {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination("/task-status/projects/1");
+        accessor.setHeader(ClusterBrokerRelay.ORIGIN_HEADER, "other-node");
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        nodeA.preSend(message, brokerChannelA);
+
+        verifyNoInteractions(brokerChannelB);
+    }
+
+    @Test
+    void preSend_ShouldIgnoreSubscriptionsAndOtherDestinations() {
+        nodeA.preSend(message(SimpMessageType.SUBSCRIBE, "/task-status/projects/1", new byte[0]), brokerChannelA);
+        nodeA.preSend(message(SimpMessageType.MESSAGE, "/app/notifications", new byte[0]), brokerChannelA);
+
+        verifyNoInteractions(brokerChannelB);
+    }
+
+    private static Message<byte[]> message(SimpMessageType type, String destination, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setDestination(destination);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<MessageChannel> provider(MessageChannel channel) {
+        ObjectProvider<MessageChannel> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(channel);
+        return provider;
+    }
+}
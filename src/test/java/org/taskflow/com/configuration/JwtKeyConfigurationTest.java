@@ -0,0 +1,85 @@
+package org.taskflow.com.configuration;
+
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtKeyConfigurationTest {
+
+    private final JwtKeyConfiguration configuration = new JwtKeyConfiguration();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void jwkSet_ShouldVerifyTokensOfRotatedOutKey() throws Exception {
+        JWKSet keys = new JWKSet(List.of(
+                new ECKeyGenerator(Curve.P_256).keyID("current").generate(),
+                new RSAKeyGenerator(2048).keyID("previous").generate()));
+        Path file = dir.resolve("jwks.json");
+        Files.writeString(file, keys.toString(false));
+
+        JWKSet loaded = configuration.jwkSet(new FileSystemResource(file), null, "", "RS256");
+        JwsHeader current = configuration.jwsHeader(loaded, "current");
+        JwsHeader previous = configuration.jwsHeader(loaded, "previous");
+        JwtEncoder encoder = configuration.jwtEncoder(loaded);
+        JwtDecoder decoder = configuration.jwtDecoder(loaded, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+        assertEquals(SignatureAlgorithm.ES256, current.getAlgorithm());
+        assertEquals("current", decoder.decode(sign(encoder, current)).getSubject());
+        assertEquals("current", decoder.decode(sign(encoder, previous)).getSubject(), "tokens signed before a rotation stay valid");
+    }
+
+    @Test
+    void jwkSet_ShouldGenerateEphemeralKey_WhenNothingConfigured() throws Exception {
+        JWKSet generated = configuration.jwkSet(null, null, "", "ES256");
+        JwsHeader header = configuration.jwsHeader(generated, "");
+
+        assertEquals(SignatureAlgorithm.ES256, header.getAlgorithm());
+        assertEquals(generated.getKeys().get(0).getKeyID(), header.getKeyId());
+    }
+
+    @Test
+    void jwkSet_ShouldFailStartup_WhenConfiguredLocationIsMissing() {
+        FileSystemResource missing = new FileSystemResource(dir.resolve("missing.json"));
+
+        assertThrows(IllegalStateException.class, () -> configuration.jwkSet(missing, null, "", "RS256"));
+        assertThrows(IllegalStateException.class, () -> configuration.jwkSet(null, missing, "secret", "RS256"));
+    }
+
+    @Test
+    void jwsHeader_ShouldRejectUnknownActiveKid() throws Exception {
+        JWKSet generated = configuration.jwkSet(null, null, "", "RS256");
+
+        assertThrows(IllegalStateException.class, () -> configuration.jwsHeader(generated, "missing"));
+    }
+
+    private static String sign(JwtEncoder encoder, JwsHeader header) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("current")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,35 @@
+package org.taskflow.com.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+class PrincipalHandshakeHandlerTest {
+
+    private final PrincipalHandshakeHandler handler = new PrincipalHandshakeHandler();
+
+    @Test
+    void determineUser_ShouldUseEmailFromHandshakeInterceptor() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(JwtHandshakeInterceptor.USER_ATTRIBUTE, "user@example.com");
+
+        Principal principal = handler.determineUser(mock(ServerHttpRequest.class), mock(WebSocketHandler.class), attributes);
+
+        assertEquals("user@example.com", principal.getName());
+    }
+
+    @Test
+    void determineUser_ShouldFallBackToRequestPrincipal_WhenNoEmailIsStored() {
+        ServerHttpRequest request = mock(ServerHttpRequest.class);
+
+        assertNull(handler.determineUser(request, mock(WebSocketHandler.class), new HashMap<>()));
+    }
+}
@@ -0,0 +1,84 @@
+package org.taskflow.com.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.taskflow.com.repository.ProjectRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class SubscriptionAuthorizationInterceptorTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private ProjectRepository projectRepository;
+    private SubscriptionAuthorizationInterceptor interceptor;
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        interceptor = new SubscriptionAuthorizationInterceptor(projectRepository);
+    }
+
+    @Test
+    void preSend_ShouldAllowProjectSubscription_WhenUserMaySeeProject() {
+        when(projectRepository.isVisibleTo(1L, EMAIL)).thenReturn(true);
+        Message<byte[]> subscribe = frame(StompCommand.SUBSCRIBE, "/task-status/projects/1", EMAIL);
+
+        assertEquals(subscribe, interceptor.preSend(subscribe, channel));
+    }
+
+    @Test
+    void preSend_ShouldRejectProjectSubscription_WhenUserMayNotSeeProject() {
+        when(projectRepository.isVisibleTo(2L, EMAIL)).thenReturn(false);
+
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/task-status/projects/2", EMAIL), channel));
+    }
+
+    @Test
+    void preSend_ShouldRejectPatternsQueuesAndAnonymousSubscriptions() {
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/task-status/**", EMAIL), channel));
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/task-status/projects/x", EMAIL), channel));
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/queue/tasks-user1a2b", EMAIL), channel));
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/task-status/projects/1", null), channel));
+        verifyNoInteractions(projectRepository);
+    }
+
+    @Test
+    void preSend_ShouldAllowUserQueueSubscriptionAndApplicationSends() {
+        interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/user/queue/tasks", EMAIL), channel);
+        interceptor.preSend(frame(StompCommand.SEND, "/app/notifications", EMAIL), channel);
+
+        verifyNoInteractions(projectRepository);
+    }
+
+    @Test
+    void preSend_ShouldRejectSendsToBrokerDestinations() {
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SEND, "/task-status/projects/1", EMAIL), channel));
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String destination, String user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setSessionId("s1");
+        if (user != null) {
+            accessor.setUser(new PrincipalHandshakeHandler.WebSocketUser(user));
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
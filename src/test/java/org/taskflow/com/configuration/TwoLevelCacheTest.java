@@ -0,0 +1,74 @@
+package org.taskflow.com.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.Mockito.verify;
+
+class TwoLevelCacheTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    private ConcurrentMapCacheManager remote;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        remote = new ConcurrentMapCacheManager();
+        cacheManager = new TwoLevelCacheManager(remote, redisTemplate, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_ShouldServeRepeatedReadsLocally() {
+        remote.getCache("users").put(1L, "alice");
+        Cache cache = cacheManager.getCache("users");
+
+        assertEquals("alice", cache.get(1L).get());
+        remote.getCache("users").put(1L, "changed behind our back");
+
+        assertEquals("alice", cache.get(1L).get());
+    }
+
+    @Test
+    void evict_ShouldRemoveBothTiersAndNotifyOtherNodes() {
+        Cache cache = cacheManager.getCache("users");
+        cache.put(1L, "alice");
+
+        cache.evict(1L);
+
+        assertNull(cache.get(1L));
+        verify(redisTemplate).convertAndSend(eq(TwoLevelCacheManager.EVICTION_CHANNEL), endsWith("\nusers\n1"));
+    }
+
+    @Test
+    void onMessage_ShouldDropLocalCopyEvictedByAnotherNode() {
+        Cache cache = cacheManager.getCache("users");
+        cache.put(1L, "alice");
+        remote.getCache("users").put(1L, "bob");
+
+        cacheManager.onMessage(message("other-node\nusers\n1"), null);
+
+        assertEquals("bob", cache.get(1L).get());
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TwoLevelCacheManager.EVICTION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
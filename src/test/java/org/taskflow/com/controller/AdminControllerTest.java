@@ -0,0 +1,64 @@
+package org.taskflow.com.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.taskflow.com.model.ActiveSession;
+import org.taskflow.com.model.SessionPage;
+import org.taskflow.com.service.TokenCacheService;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc(addFilters = false)
+@WebMvcTest(AdminController.class)
+public class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TokenCacheService tokenCacheService;
+
+    @Test
+    public void getSessions_ShouldReturnPageWithNextCursor() throws Exception {
+        when(tokenCacheService.getSessionPage("0", 100))
+                .thenReturn(new SessionPage(List.of(new ActiveSession("a", "user@gmail.com")), "17"));
+
+        mockMvc.perform(get("/api/v1/admin/sessions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessions[0].id").value("a"))
+                .andExpect(jsonPath("$.sessions[0].email").value("user@gmail.com"))
+                .andExpect(jsonPath("$.next_cursor").value("17"));
+    }
+
+    @Test
+    public void getSessions_ShouldCapPageSize() throws Exception {
+        when(tokenCacheService.getSessionPage("17", AdminController.MAX_PAGE_SIZE))
+                .thenReturn(new SessionPage(List.of(), null));
+
+        mockMvc.perform(get("/api/v1/admin/sessions").param("cursor", "17").param("size", "1000000"))
+                .andExpect(status().isOk());
+
+        verify(tokenCacheService).getSessionPage("17", AdminController.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    public void getSessions_ShouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/sessions").param("cursor", "abc"))
+                .andExpect(status().isBadRequest());
+
+        verify(tokenCacheService, never()).getSessionPage(anyString(), anyInt());
+    }
+}
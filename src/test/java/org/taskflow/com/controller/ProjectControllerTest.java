@@ -18,8 +18,12 @@ import org.taskflow.com.service.ProjectService;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -64,10 +68,12 @@ public class ProjectControllerTest {
 
         when(projectService.getProjects(authHeader))
                 .thenReturn(projectList);
+        when(projectService.getProjectsFingerprint(authHeader)).thenReturn("abc123");
 
         mockMvc.perform(get("/api/v1/projects")
                         .header("Authorization", authHeader))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123\""))
                 .andExpect(jsonPath("$[0].name").value("Project 1"))
                 .andExpect(jsonPath("$[1].name").value("Project 2"));
     }
@@ -87,6 +93,32 @@ public class ProjectControllerTest {
                 .andExpect(jsonPath("$.description").value("Description 1"));
     }
 
+    @Test
+    @WithMockUser
+    public void getProjects_shouldReturnNotModified_WhenFingerprintMatches() throws Exception {
+        when(projectService.getProjectsFingerprint(authHeader)).thenReturn("abc123");
+
+        mockMvc.perform(get("/api/v1/projects")
+                        .header("Authorization", authHeader)
+                        .header("If-None-Match", "\"abc123\""))
+                .andExpect(status().isNotModified());
+
+        verify(projectService, never()).getProjects(any());
+    }
+
+    @Test
+    @WithMockUser
+    public void getProjectById_shouldReturnNotModified_WhenVersionMatches() throws Exception {
+        when(projectService.getProjectVersion(1L, authHeader)).thenReturn(2L);
+
+        mockMvc.perform(get("/api/v1/projects/{id}", 1L)
+                        .header("Authorization", authHeader)
+                        .header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified());
+
+        verify(projectService, never()).getProjectById(any(), any());
+    }
+
     @Test
     @WithMockUser
     public void updateProject_shouldReturnUpdatedProject() throws Exception {
@@ -15,11 +15,19 @@ import org.taskflow.com.entity.UserEntity;
 import org.taskflow.com.exception.EmailAlreadyOccupiedException;
 import org.taskflow.com.model.NewUser;
 import org.taskflow.com.model.SessionInfo;
+import org.taskflow.com.model.UserSession;
 import org.taskflow.com.service.SecurityService;
 
+import java.time.Instant;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc(addFilters = false)
@@ -90,4 +98,24 @@ public class SecurityControllerTest {
                         .content(objectMapper.writeValueAsString(existingUser)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void getSessions_shouldReturnActiveSessions() throws Exception {
+        when(securityService.getSessions(authHeader))
+                .thenReturn(List.of(new UserSession("session-1", Instant.now().plusSeconds(3600))));
+
+        mockMvc.perform(get("/api/v1/auth/sessions")
+                        .header("Authorization", authHeader))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("session-1"));
+    }
+
+    @Test
+    void revokeSessions_shouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/v1/auth/sessions")
+                        .header("Authorization", authHeader))
+                .andExpect(status().isNoContent());
+
+        verify(securityService).revokeSessions(authHeader);
+    }
 }
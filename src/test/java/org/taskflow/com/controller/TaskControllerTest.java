@@ -1,30 +1,55 @@
 package org.taskflow.com.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.taskflow.com.enums.ExportFormat;
+import org.taskflow.com.enums.TaskSortField;
+import org.taskflow.com.exception.TaskVersionConflictException;
+import org.taskflow.com.model.BulkItemResult;
+import org.taskflow.com.model.BulkResult;
 import org.taskflow.com.model.CreateTaskDTO;
+import org.taskflow.com.model.PatchTaskDTO;
 import org.taskflow.com.model.TaskDTO;
+import org.taskflow.com.model.TaskFilter;
+import org.taskflow.com.model.TaskPage;
+import org.taskflow.com.model.TaskQueryPage;
+import org.taskflow.com.model.TaskSearchPage;
 import org.taskflow.com.model.UpdateTaskDTO;
 import org.taskflow.com.service.MailService;
 import org.taskflow.com.service.TaskService;
-import org.taskflow.com.service.TokenCacheService;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc(addFilters = false)
@@ -40,15 +65,9 @@ public class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
-    @MockBean
-    private SimpMessagingTemplate messagingTemplate;
-
     @MockBean
     private MailService mailService;
 
-    @MockBean
-    private TokenCacheService tokenCacheService;
-
     private String authHeader;
 
     private TaskDTO taskDTO;
@@ -57,7 +76,7 @@ public class TaskControllerTest {
     void setUp() {
         authHeader = "Bearer testToken";
 
-        TaskDTO taskDTO = new TaskDTO(
+        taskDTO = new TaskDTO(
                 1L,
                 "Finish the report",
                 "Complete the final report for the project by end of this week.",
@@ -65,7 +84,8 @@ public class TaskControllerTest {
                 "IN_PROGRESS",
                 "user@example.com",
                 LocalDateTime.now(),
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                0L
         );
 
         TaskDTO taskDTOUpdated = new TaskDTO(
@@ -76,11 +96,12 @@ public class TaskControllerTest {
                 "IN_PROGRESS",
                 "user@example.com",
                 LocalDateTime.now(),
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                0L
         );
 
         when(taskService.createTask(any(), eq(authHeader))).thenReturn(taskDTO);
-        when(taskService.getTasks(eq(authHeader))).thenReturn(List.of(taskDTO));
+        when(taskService.getTasks(eq(authHeader), isNull(), eq(50))).thenReturn(new TaskPage(List.of(taskDTO), 1L));
         when(taskService.getTaskById(eq(1L), eq(authHeader))).thenReturn(taskDTO);
         when(taskService.updateTask(eq(1L), any(), eq(authHeader))).thenReturn(taskDTOUpdated);
     }
@@ -106,15 +127,139 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Finish the report"));
     }
 
+    @Test
+    void createTasks_shouldReturnPerItemResults() throws Exception {
+        CreateTaskDTO createTaskDTO = new CreateTaskDTO("Task 1", null, "High", "Pending", 1L, null);
+        when(taskService.createTasks(any(), eq(authHeader))).thenReturn(BulkResult.of(List.of(
+                BulkItemResult.ok(0, 7L, 201),
+                BulkItemResult.failed(1, null, 404, "Project not found"))));
+
+        mockMvc.perform(post("/api/v1/tasks/bulk")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(createTaskDTO, createTaskDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.items[1].status").value(404))
+                .andExpect(jsonPath("$.items[1].error").value("Project not found"))
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1));
+    }
+
+    @Test
+    void deleteTasks_shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/v1/tasks/bulk/delete")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).deleteTasks(any(), any());
+    }
+
     @Test
     void getTasks_shouldReturnTasks() throws Exception {
         mockMvc.perform(get("/api/v1/tasks")
                         .header("Authorization", authHeader)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].status").value("IN_PROGRESS"))
-                .andExpect(jsonPath("$[0].title").value("Finish the report"));
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.items[0].title").value("Finish the report"))
+                .andExpect(jsonPath("$.next_cursor").value(1));
+    }
+
+    @Test
+    void getTasks_shouldCapPageSize() throws Exception {
+        when(taskService.getTasks(eq(authHeader), eq(1L), eq(TaskController.MAX_PAGE_SIZE)))
+                .thenReturn(new TaskPage(List.of(), null));
+
+        mockMvc.perform(get("/api/v1/tasks")
+                        .header("Authorization", authHeader)
+                        .param("cursor", "1")
+                        .param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void queryTasks_shouldBindFilterAndSort() throws Exception {
+        TaskFilter filter = new TaskFilter(1L, "IN_PROGRESS", null, null, LocalDateTime.of(2025, 2, 1, 0, 0), null);
+        when(taskService.queryTasks(eq(filter), eq(TaskSortField.DEADLINE), eq(Sort.Direction.DESC), eq(0), eq(50), eq(authHeader)))
+                .thenReturn(new TaskQueryPage(List.of(taskDTO), 0, true));
+
+        mockMvc.perform(get("/api/v1/tasks/query")
+                        .header("Authorization", authHeader)
+                        .param("projectId", "1")
+                        .param("status", "IN_PROGRESS")
+                        .param("deadlineFrom", "2025-02-01T00:00:00")
+                        .param("sort", "DEADLINE")
+                        .param("direction", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.has_next").value(true));
+    }
+
+    @Test
+    void queryTasks_shouldRejectPageBeyondLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/query")
+                        .header("Authorization", authHeader)
+                        .param("page", "20000000")
+                        .param("size", "200"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).queryTasks(any(), any(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void searchTasks_shouldReturnRankedPage() throws Exception {
+        when(taskService.searchTasks(eq("report"), isNull(), eq("Open"), isNull(), eq(20), eq(authHeader)))
+                .thenReturn(new TaskSearchPage(List.of(taskDTO), "0.5:1"));
+
+        mockMvc.perform(get("/api/v1/tasks/search")
+                        .header("Authorization", authHeader)
+                        .param("q", "report")
+                        .param("status", "Open"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.next_cursor").value("0.5:1"));
+    }
+
+    @Test
+    void searchTasks_shouldRejectBlankQuery() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks/search")
+                        .header("Authorization", authHeader)
+                        .param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportTasks_shouldStreamNdjsonByDefault() throws Exception {
+        StreamingResponseBody body = out -> out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+        when(taskService.exportProjectTasks(eq(1L), eq(ExportFormat.NDJSON), eq(authHeader))).thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/tasks/export")
+                        .header("Authorization", authHeader)
+                        .param("projectId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void exportTasks_shouldReturnNotFound_WhenProjectNotOwned() throws Exception {
+        when(taskService.exportProjectTasks(eq(2L), eq(ExportFormat.JSON), eq(authHeader)))
+                .thenThrow(new EntityNotFoundException("Project not found"));
+
+        mockMvc.perform(get("/api/v1/tasks/export")
+                        .header("Authorization", authHeader)
+                        .param("projectId", "2")
+                        .param("format", "JSON"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -123,11 +268,25 @@ public class TaskControllerTest {
                         .header("Authorization", authHeader)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
                 .andExpect(jsonPath("$.title").value("Finish the report"));
     }
 
+    @Test
+    void getTaskById_shouldReturnNotModified_WhenVersionMatches() throws Exception {
+        when(taskService.getTaskVersion(1L, authHeader)).thenReturn(0L);
+
+        mockMvc.perform(get("/api/v1/tasks/{id}", 1L)
+                        .header("Authorization", authHeader)
+                        .header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).getTaskById(any(), any());
+    }
+
     @Test
     void updateTask_shouldReturnUpdatedTask() throws Exception {
         UpdateTaskDTO updateTaskDTO = new UpdateTaskDTO(
@@ -148,6 +307,72 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Update website layout"));
     }
 
+    @Test
+    void patchTask_shouldReturnNewVersionAsETag() throws Exception {
+        when(taskService.patchTask(eq(1L), any(), eq(authHeader))).thenReturn(4L);
+
+        mockMvc.perform(patch("/api/v1/tasks/{id}", 1L)
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DONE\",\"version\":3}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    @Test
+    void patchTask_shouldReturnConflict_WhenVersionIsStale() throws Exception {
+        when(taskService.patchTask(eq(1L), any(), eq(authHeader))).thenThrow(new TaskVersionConflictException(1L, 3L));
+
+        mockMvc.perform(patch("/api/v1/tasks/{id}", 1L)
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DONE\",\"version\":3}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void patchTask_shouldLeaveDescriptionAndDeadlineAlone_WhenOnlyStatusIsSent() throws Exception {
+        when(taskService.patchTask(eq(1L), any(), eq(authHeader))).thenReturn(4L);
+
+        mockMvc.perform(patch("/api/v1/tasks/{id}", 1L)
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"Done\",\"version\":3}"))
+                .andExpect(status().isNoContent());
+
+        ArgumentCaptor<PatchTaskDTO> sent = ArgumentCaptor.forClass(PatchTaskDTO.class);
+        verify(taskService).patchTask(eq(1L), sent.capture(), eq(authHeader));
+        assertEquals("Done", sent.getValue().getStatus());
+        assertFalse(sent.getValue().isDescriptionSent());
+        assertFalse(sent.getValue().isDeadlineSent());
+    }
+
+    @Test
+    void patchTask_shouldTellClearedFieldsFromOmittedOnes() throws Exception {
+        when(taskService.patchTask(eq(1L), any(), eq(authHeader))).thenReturn(4L);
+
+        mockMvc.perform(patch("/api/v1/tasks/{id}", 1L)
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":null,\"version\":3}"))
+                .andExpect(status().isNoContent());
+
+        ArgumentCaptor<PatchTaskDTO> sent = ArgumentCaptor.forClass(PatchTaskDTO.class);
+        verify(taskService).patchTask(eq(1L), sent.capture(), eq(authHeader));
+        assertTrue(sent.getValue().isDescriptionSent());
+        assertNull(sent.getValue().getDescription());
+        assertFalse(sent.getValue().isDeadlineSent());
+    }
+
+    @Test
+    void patchTask_shouldRejectMissingVersion() throws Exception {
+        mockMvc.perform(patch("/api/v1/tasks/{id}", 1L)
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deleteTask_shouldDeleteTask() throws Exception {
         mockMvc.perform(delete("/api/v1/tasks/{id}", 1L)
@@ -0,0 +1,126 @@
+package org.taskflow.com.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * A throw-away Postgres schema with every migration of the master changelog applied, for tests that run SQL
+ * against the real tables. The connection is taken from the same {@code SPRING_DATASOURCE_*} variables as the
+ * application; when none is reachable the calling test is skipped.
+ */
+final class MigratedSchema implements AutoCloseable {
+
+    private static final Pattern CHANGELOG_FILE = Pattern.compile("file:\\s*(\\S+)");
+
+    private final Connection connection;
+    private final String name;
+
+    private MigratedSchema(Connection connection, String name) {
+        this.connection = connection;
+        this.name = name;
+    }
+
+    static MigratedSchema create(String prefix) throws SQLException, IOException {
+        return create(prefix, null, statement -> {
+        });
+    }
+
+    /**
+     * Like {@link #create(String)}, but runs {@code seed} just before the migration file {@code before} is applied,
+     * so a test can check how that migration treats existing rows.
+     *
+     * @param before the changelog file, e.g. {@code db/changelog/ddl/008_task_enum_codes.sql}.
+     */
+    static MigratedSchema create(String prefix, String before, Seed seed) throws SQLException, IOException {
+        Connection connection = null;
+        try {
+            connection = DriverManager.getConnection(
+                    env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/taskflow"),
+                    env("SPRING_DATASOURCE_USERNAME", "root"),
+                    env("SPRING_DATASOURCE_PASSWORD", "123456789"));
+        } catch (SQLException e) {
+            assumeTrue(false, "Postgres is not available: " + e.getMessage());
+        }
+
+        String name = prefix + "_" + System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA " + name);
+            statement.execute("SET search_path TO " + name);
+            for (String file : changelogFiles()) {
+                if (file.equals(before)) {
+                    seed.run(statement);
+                }
+                for (String sql : statements(file)) {
+                    statement.execute(sql);
+                }
+            }
+        }
+        return new MigratedSchema(connection, name);
+    }
+
+    Connection connection() {
+        return connection;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + name + " CASCADE");
+        } finally {
+            connection.close();
+        }
+    }
+
+    interface Seed {
+        void run(Statement statement) throws SQLException;
+    }
+
+    private static List<String> changelogFiles() throws IOException {
+        List<String> files = new ArrayList<>();
+        Matcher matcher = CHANGELOG_FILE.matcher(resource("db/changelog/db.changelog-master.yaml"));
+        while (matcher.find()) {
+            files.add(matcher.group(1));
+        }
+        return files;
+    }
+
+    // Liquibase comments are dropped; none of the migrations has a semicolon inside a statement.
+    private static List<String> statements(String file) throws IOException {
+        String sql = resource(file).lines()
+                .filter(line -> !line.trim().startsWith("--"))
+                .collect(Collectors.joining("\n"));
+        List<String> statements = new ArrayList<>();
+        for (String statement : sql.split(";")) {
+            if (!statement.isBlank()) {
+                statements.add(statement.trim());
+            }
+        }
+        return statements;
+    }
+
+    private static String resource(String path) throws IOException {
+        try (InputStream in = MigratedSchema.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException("Missing resource " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
@@ -0,0 +1,64 @@
+package org.taskflow.com.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Applies {@code 008_task_enum_codes.sql} to tasks holding free-form status and priority text, to check that
+ * recognized names get their codes and unrecognized ones are kept in {@code task_enum_unmapped}.
+ * Needs a running Postgres, see {@link MigratedSchema}; skipped when none is reachable.
+ */
+class TaskEnumCodesMigrationTest {
+
+    private static MigratedSchema schema;
+    private static Connection connection;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        schema = MigratedSchema.create("task_enum_codes", "db/changelog/ddl/008_task_enum_codes.sql", statement -> {
+            statement.execute("INSERT INTO users (id, email, password, name, role) VALUES (1, 'user@example.com', 'hash', 'User', 'USER')");
+            statement.execute("INSERT INTO projects (id, name, created_by) VALUES (1, 'Project', 1)");
+            statement.execute("INSERT INTO tasks (id, title, priority, status, project_id) VALUES " +
+                    "(1, 'Known', 'urgent', 'in-progress', 1), " +
+                    "(2, 'Unknown status', 'Low', 'Someday', 1), " +
+                    "(3, 'Unknown priority', 'P0', 'Done', 1)");
+        });
+        connection = schema.connection();
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (schema != null) {
+            schema.close();
+        }
+    }
+
+    @Test
+    void migration_ShouldMapKnownNamesAndKeepUnknownOnesAside() throws SQLException {
+        assertEquals(List.of("1:4:2", "2:1:1", "3:2:4"),
+                rows("SELECT id || ':' || priority || ':' || status FROM tasks ORDER BY id"));
+        assertEquals(List.of("2:Low:Someday", "3:P0:Done"),
+                rows("SELECT task_id || ':' || priority || ':' || status FROM task_enum_unmapped ORDER BY task_id"));
+    }
+
+    private static List<String> rows(String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(sql)) {
+            while (result.next()) {
+                rows.add(result.getString(1));
+            }
+        }
+        return rows;
+    }
+}
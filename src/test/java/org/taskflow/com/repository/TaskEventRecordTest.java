@@ -0,0 +1,74 @@
+package org.taskflow.com.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the native {@link TaskEventRepository#record} statement against the migrated tables, to check the versions
+ * it gives the outbox rows. Needs a running Postgres, see {@link MigratedSchema}; skipped when none is reachable.
+ */
+class TaskEventRecordTest {
+
+    private static MigratedSchema schema;
+    private static Connection connection;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        schema = MigratedSchema.create("task_event_record");
+        connection = schema.connection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, email, password, name, role) VALUES (1, 'user@example.com', 'hash', 'User', 'USER')");
+            statement.execute("INSERT INTO projects (id, name, created_by) VALUES (1, 'Project', 1)");
+            statement.execute("INSERT INTO tasks (id, title, priority, status, assigned_to, project_id) VALUES (1, 'Task', 2, 1, 1, 1)");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (schema != null) {
+            schema.close();
+        }
+    }
+
+    @Test
+    void record_ShouldGiveDeletionNewerVersionThanPrecedingUpdate() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE tasks SET title = 'Renamed', version = version + 1 WHERE id = 1");
+            statement.execute(recordStatement("UPDATED", 1L));
+            statement.execute(recordStatement("DELETED", 1L));
+        }
+
+        List<Long> versions = new ArrayList<>();
+        List<String> types = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT type, task_version FROM task_events WHERE task_id = 1 ORDER BY id")) {
+            while (rows.next()) {
+                types.add(rows.getString(1));
+                versions.add(rows.getLong(2));
+            }
+        }
+
+        assertEquals(List.of("UPDATED", "DELETED"), types);
+        assertEquals(1L, versions.get(0));
+        assertTrue(versions.get(1) > versions.get(0), "a deletion must be newer than the last update");
+    }
+
+    private static String recordStatement(String type, Long taskId) throws NoSuchMethodException {
+        String sql = TaskEventRepository.class.getMethod("record", String.class, Collection.class)
+                .getAnnotation(Query.class).value();
+        return sql.replace(":type", "'" + type + "'").replace(":taskIds", String.valueOf(taskId));
+    }
+}
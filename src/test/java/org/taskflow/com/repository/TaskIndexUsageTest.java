@@ -0,0 +1,104 @@
+package org.taskflow.com.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks with EXPLAIN that Postgres serves the main task access paths from the indexes created by the migrations.
+ * The migrations are applied to a throw-away schema, which is filled with 50,000 tasks and analyzed.
+ * The queries have the same shape as the SQL Hibernate generates for the repository and {@link TaskSpecifications};
+ * the query API one is that of {@code findDtos} with {@code visibleTo} and a status filter applied.
+ * <p>
+ * Needs a running Postgres, see {@link MigratedSchema}; skipped when none is reachable.
+ */
+class TaskIndexUsageTest {
+
+    private static MigratedSchema schema;
+    private static Connection connection;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        schema = MigratedSchema.create("index_usage");
+        connection = schema.connection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, email, password, name, role) " +
+                    "SELECT g, 'user' || g || '@example.com', 'hash', 'User ' || g, 'USER' FROM generate_series(1, 200) g");
+            statement.execute("INSERT INTO projects (id, name, created_by) " +
+                    "SELECT g, 'Project ' || g, 1 + g % 200 FROM generate_series(1, 100) g");
+            statement.execute("INSERT INTO tasks (id, title, priority, status, assigned_to, project_id, deadline) " +
+                    "SELECT g, 'Task ' || g, 3, 1 + g % 4, " +
+                    "1 + g % 200, 1 + g % 100, now() + (g % 365) * interval '1 day' FROM generate_series(1, 50000) g");
+            statement.execute("ANALYZE users, projects, tasks");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        if (schema != null) {
+            schema.close();
+        }
+    }
+
+    @Test
+    void assigneePage_ShouldUseAssigneeIdIndex() throws SQLException {
+        String plan = explain("SELECT id FROM tasks WHERE assigned_to = 7 AND id > 0 ORDER BY id LIMIT 51");
+
+        assertTrue(plan.contains("idx_tasks_assigned_to_id"), plan);
+    }
+
+    @Test
+    void assigneeStatusDeadlineFilter_ShouldUseAssigneeStatusDeadlineIndex() throws SQLException {
+        String plan = explain("SELECT id FROM tasks WHERE assigned_to = 7 AND status = 3 " +
+                "AND deadline >= now() AND deadline <= now() + interval '30 days'");
+
+        assertTrue(plan.contains("idx_tasks_assigned_to_status_deadline"), plan);
+    }
+
+    @Test
+    void projectStatusFilter_ShouldUseProjectStatusIndex() throws SQLException {
+        String plan = explain("SELECT id FROM tasks WHERE project_id = 7 AND status = 3");
+
+        assertTrue(plan.contains("idx_tasks_project_id_status"), plan);
+    }
+
+    @Test
+    void visibleTasksQuery_ShouldCombineAssigneeAndOwnedProjectIndexes() throws SQLException {
+        // User 7 created project 6; findDtos selects through a left join on the assignee and pages with offset/fetch.
+        String plan = explain("SELECT t.id, t.title, t.description, t.priority, t.status, a.email, t.deadline, " +
+                "t.created_at, t.version FROM tasks t LEFT JOIN users a ON a.id = t.assigned_to " +
+                "WHERE (t.assigned_to = 7 OR t.project_id IN (6)) AND t.status = 2 " +
+                "ORDER BY t.id OFFSET 0 ROWS FETCH FIRST 51 ROWS ONLY");
+
+        assertTrue(plan.contains("idx_tasks_assigned_to_status_deadline"), plan);
+        assertTrue(plan.contains("idx_tasks_project_id_status"), plan);
+    }
+
+    @Test
+    void deadlineReminders_ShouldUseUpcomingDeadlineIndex() throws SQLException {
+        String plan = explain("SELECT t.id, u.email FROM tasks t JOIN users u ON u.id = t.assigned_to " +
+                "WHERE t.assigned_to IS NOT NULL AND t.deadline BETWEEN now() AND now() + interval '1 hour'");
+
+        assertTrue(plan.contains("idx_tasks_upcoming_deadline"), plan);
+    }
+
+    private static String explain(String sql) throws SQLException {
+        List<String> lines = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            while (plan.next()) {
+                lines.add(plan.getString(1));
+            }
+        }
+        return String.join("\n", lines);
+    }
+}
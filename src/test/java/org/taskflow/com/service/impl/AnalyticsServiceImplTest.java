@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.taskflow.com.enums.TaskStatus;
 import org.taskflow.com.repository.TaskRepository;
 
 import java.util.ArrayList;
@@ -34,16 +35,16 @@ public class AnalyticsServiceImplTest {
         Long projectId = 1L;
 
         List<Object[]> mockResults = new ArrayList<>();
-        mockResults.add(new Object[]{"OPEN", 5L});
-        mockResults.add(new Object[]{"CLOSED", 3L});
+        mockResults.add(new Object[]{TaskStatus.OPEN, 5L});
+        mockResults.add(new Object[]{TaskStatus.DONE, 3L});
         when(taskRepository.countTasksByStatusForProject(projectId)).thenReturn(mockResults);
 
         Map<String, Long> result = analyticsService.getTaskStatusCountForProject(projectId);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals(5L, result.get("OPEN"));
-        assertEquals(3L, result.get("CLOSED"));
+        assertEquals(5L, result.get("Open"));
+        assertEquals(3L, result.get("Done"));
 
         verify(taskRepository).countTasksByStatusForProject(projectId);
     }
@@ -53,16 +54,16 @@ public class AnalyticsServiceImplTest {
         Long userId = 2L;
 
         List<Object[]> mockResults = new ArrayList<>();
-        mockResults.add(new Object[]{"IN_PROGRESS", 2L});
-        mockResults.add(new Object[]{"COMPLETED", 7L});
+        mockResults.add(new Object[]{TaskStatus.IN_PROGRESS, 2L});
+        mockResults.add(new Object[]{TaskStatus.BLOCKED, 7L});
         when(taskRepository.countTasksByStatusForUser(userId)).thenReturn(mockResults);
 
         Map<String, Long> result = analyticsService.getTaskStatusCountForUser(userId);
 
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals(2L, result.get("IN_PROGRESS"));
-        assertEquals(7L, result.get("COMPLETED"));
+        assertEquals(2L, result.get("In Progress"));
+        assertEquals(7L, result.get("Blocked"));
 
         verify(taskRepository).countTasksByStatusForUser(userId);
     }
@@ -0,0 +1,52 @@
+package org.taskflow.com.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.taskflow.com.model.TaskDTO;
+import org.taskflow.com.repository.TaskRepository;
+import org.taskflow.com.service.MailService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DeadlineReminderSchedulerTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private MailService mailService;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @InjectMocks
+    private DeadlineReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void sendDeadlineReminder_ShouldNotifyEachAssigneeOnTheirOwnQueue() throws Exception {
+        LocalDateTime deadline = LocalDateTime.now().plusMinutes(30);
+        TaskDTO alice = new TaskDTO(10L, "Report", null, "High", "Open", "alice@example.com", deadline, null, 1L);
+        TaskDTO bob = new TaskDTO(11L, "Review", null, "Low", "Open", "bob@example.com", deadline, null, 2L);
+        when(taskRepository.findDueBetween(any(), any())).thenReturn(List.of(alice, bob));
+
+        scheduler.sendDeadlineReminder();
+
+        verify(messagingTemplate, times(1)).convertAndSendToUser("alice@example.com", "/queue/deadlines", alice);
+        verify(messagingTemplate, times(1)).convertAndSendToUser("bob@example.com", "/queue/deadlines", bob);
+        verifyNoMoreInteractions(messagingTemplate);
+        verify(mailService, timeout(5000).times(2)).sendEmail(any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,108 @@
+package org.taskflow.com.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.taskflow.com.enums.Role;
+import org.taskflow.com.model.AuthenticatedUser;
+import org.taskflow.com.service.RevocationService;
+import org.taskflow.com.service.TokenCacheService;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+class JwtIdentityResolverTest {
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    @Mock
+    private RevocationService revocationService;
+
+    @Mock
+    private TokenCacheService tokenCacheService;
+
+    @InjectMocks
+    private JwtIdentityResolver resolver;
+
+    private final String token = "jwt-token";
+    private final String authHeader = "Bearer " + token;
+    private final String email = "test@example.com";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resolve_ShouldTakeIdentityFromClaims() {
+        when(jwtDecoder.decode(token)).thenReturn(jwt(true));
+
+        AuthenticatedUser user = resolver.resolve(authHeader);
+
+        assertEquals(new AuthenticatedUser(1L, email, Role.MANAGER), user);
+        verify(revocationService, times(1)).isRevoked(TokenCacheServiceImpl.sessionId(authHeader));
+        verifyNoInteractions(tokenCacheService);
+    }
+
+    @Test
+    void resolve_ShouldReuseTokenVerifiedByFilter() {
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt(true)));
+
+        assertEquals(email, resolver.resolve(authHeader).email());
+        verifyNoInteractions(jwtDecoder);
+    }
+
+    @Test
+    void resolve_ShouldRejectRevokedToken() {
+        when(jwtDecoder.decode(token)).thenReturn(jwt(true));
+        when(revocationService.isRevoked(TokenCacheServiceImpl.sessionId(authHeader))).thenReturn(true);
+
+        assertNull(resolver.resolve(authHeader));
+    }
+
+    @Test
+    void resolve_ShouldRejectInvalidToken() {
+        when(jwtDecoder.decode(token)).thenThrow(new BadJwtException("bad signature"));
+
+        assertNull(resolver.resolve(authHeader));
+        verifyNoInteractions(revocationService);
+    }
+
+    @Test
+    void resolve_ShouldFallBackToRedis_ForTokenWithoutIdentityClaims() {
+        when(jwtDecoder.decode(token)).thenReturn(jwt(false));
+        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn(email);
+
+        assertEquals(new AuthenticatedUser(null, email, null), resolver.resolve(authHeader));
+    }
+
+    private Jwt jwt(boolean withIdentityClaims) {
+        Jwt.Builder builder = Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("1")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(60))
+                .claim("scope", "ROLE_MANAGER");
+        if (withIdentityClaims) {
+            builder.claim(JwtIdentityResolver.EMAIL_CLAIM, email).claim(JwtIdentityResolver.ROLE_CLAIM, "MANAGER");
+        }
+        return builder.build();
+    }
+}
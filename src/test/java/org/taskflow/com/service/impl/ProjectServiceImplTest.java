@@ -6,15 +6,17 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.taskflow.com.annotation.PrincipalContext;
 import org.taskflow.com.entity.ProjectEntity;
 import org.taskflow.com.entity.UserEntity;
+import org.taskflow.com.enums.Role;
 import org.taskflow.com.mapper.MapperProject;
+import org.taskflow.com.model.AuthenticatedUser;
 import org.taskflow.com.model.CreateProjectDTO;
 import org.taskflow.com.model.ProjectDTO;
 import org.taskflow.com.model.UpdateProjectDTO;
 import org.taskflow.com.repository.ProjectRepository;
 import org.taskflow.com.repository.UserRepository;
-import org.taskflow.com.service.TokenCacheService;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -30,7 +32,7 @@ class ProjectServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private TokenCacheService tokenCacheService;
+    private PrincipalContext principalContext;
     @Mock
     private MapperProject mapperProject;
 
@@ -60,8 +62,8 @@ class ProjectServiceImplTest {
     void createProject_shouldReturnProjectDTO_whenValidData() {
         String authHeader = "validToken";
         CreateProjectDTO createProjectDTO = new CreateProjectDTO("Project 1", "Description");
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn("user@example.com");
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(userEntity));
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(1L, "user@example.com", Role.MANAGER));
+        when(userRepository.getReferenceById(1L)).thenReturn(userEntity);
         when(projectRepository.save(projectEntity)).thenReturn(projectEntity);
         when(mapperProject.toProjectEntity(createProjectDTO, userEntity)).thenReturn(projectEntity);
         when(mapperProject.toProjectDTO(projectEntity)).thenReturn(new ProjectDTO(1L, "Project 1", "Description", LocalDateTime.now()));
@@ -78,8 +80,7 @@ class ProjectServiceImplTest {
     void createProject_shouldThrowException_whenUserNotFound() {
         String authHeader = "invalidToken";
         CreateProjectDTO createProjectDTO = new CreateProjectDTO("Project 1", "Description");
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn("user@example.com");
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.empty());
+        when(principalContext.getUser()).thenThrow(new EntityNotFoundException("User not found"));
 
         assertThrows(EntityNotFoundException.class, () -> projectService.createProject(createProjectDTO, authHeader));
     }
@@ -87,7 +88,7 @@ class ProjectServiceImplTest {
     @Test
     void getProjects_shouldReturnListOfProjects() {
         String authHeader = "validToken";
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn("user@example.com");
+        when(principalContext.getEmail()).thenReturn("user@example.com");
         when(projectRepository.findByCreatedBy_Email("user@example.com"))
                 .thenReturn(List.of(projectEntity));
         when(mapperProject.toProjectDTO(projectEntity)).thenReturn(new ProjectDTO(1L, "Project 1", "Description", null));
@@ -103,7 +104,7 @@ class ProjectServiceImplTest {
     void getProjectById_shouldReturnProjectDTO_whenProjectFound() {
         String authHeader = "validToken";
         Long projectId = 1L;
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn("user@example.com");
+        when(principalContext.getEmail()).thenReturn("user@example.com");
         when(projectRepository.findByIdAndCreatedBy_Email(projectId, "user@example.com"))
                 .thenReturn(Optional.of(projectEntity));
         when(mapperProject.toProjectDTO(projectEntity)).thenReturn(new ProjectDTO(1L, "Project 1", "Description", null));
@@ -118,7 +119,7 @@ class ProjectServiceImplTest {
     void getProjectById_shouldThrowException_whenProjectNotFound() {
         String authHeader = "validToken";
         Long projectId = 1L;
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn("user@example.com");
+        when(principalContext.getEmail()).thenReturn("user@example.com");
         when(projectRepository.findByIdAndCreatedBy_Email(projectId, "user@example.com"))
                 .thenReturn(Optional.empty());
 
@@ -130,7 +131,7 @@ class ProjectServiceImplTest {
         String authHeader = "validToken";
         Long projectId = 1L;
         UpdateProjectDTO updateProjectDTO = new UpdateProjectDTO("Updated Project", "Updated Description");
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn("user@example.com");
+        when(principalContext.getEmail()).thenReturn("user@example.com");
         when(projectRepository.findByIdAndCreatedBy_Email(projectId, "user@example.com"))
                 .thenReturn(Optional.of(projectEntity));
         projectEntity.setName("Updated Project");
@@ -149,7 +150,7 @@ class ProjectServiceImplTest {
     void deleteProject_shouldDeleteProject() {
         String authHeader = "validToken";
         Long projectId = 1L;
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn("user@example.com");
+        when(principalContext.getEmail()).thenReturn("user@example.com");
         when(projectRepository.findByIdAndCreatedBy_Email(projectId, "user@example.com"))
                 .thenReturn(Optional.of(projectEntity));
 
@@ -157,4 +158,12 @@ class ProjectServiceImplTest {
 
         verify(projectRepository).delete(projectEntity);
     }
+
+    @Test
+    void getProjectVersion_ShouldThrowEntityNotFoundException_WhenProjectNotOwned() {
+        when(principalContext.getEmail()).thenReturn("user@example.com");
+        when(projectRepository.findVersion(1L, "user@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> projectService.getProjectVersion(1L, "Bearer token"));
+    }
 }
@@ -0,0 +1,108 @@
+package org.taskflow.com.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.taskflow.com.model.ClusterMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RedisClusterMessageBusTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedisClusterMessageBus bus;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bus = new RedisClusterMessageBus(redisTemplate, listenerContainer, meterRegistry, 4, "ws:broker:");
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.destroy();
+    }
+
+    @Test
+    void constructor_ShouldSubscribeToEveryShardChannel() {
+        verify(listenerContainer, times(1)).addMessageListener(eq(bus), argThat((Collection<? extends Topic> topics) -> topics.size() == 4));
+    }
+
+    @Test
+    void encode_ShouldRoundTrip() {
+        ClusterMessage message = new ClusterMessage("node", "/task-status/projects/7", "application/json",
+                "[1,2]".getBytes(StandardCharsets.UTF_8), 1234L);
+
+        ClusterMessage decoded = RedisClusterMessageBus.decode(RedisClusterMessageBus.encode(message));
+
+        assertEquals("node", decoded.origin());
+        assertEquals("/task-status/projects/7", decoded.destination());
+        assertEquals("application/json", decoded.contentType());
+        assertArrayEquals(message.payload(), decoded.payload());
+        assertEquals(1234L, decoded.sentAt());
+    }
+
+    @Test
+    void shardOf_ShouldBeStableAndInRange() {
+        for (int i = 0; i < 100; i++) {
+            String destination = "/task-status/projects/" + i;
+            int shard = RedisClusterMessageBus.shardOf(destination, 4);
+            assertTrue(shard >= 0 && shard < 4);
+            assertEquals(shard, RedisClusterMessageBus.shardOf(destination, 4));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publish_ShouldCountFailures() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenThrow(new IllegalStateException("down"));
+
+        bus.publish(new ClusterMessage("node", "/task-status/projects/1", null, new byte[0], 0L));
+
+        assertEquals(1.0, meterRegistry.get("websocket.cluster.publish.errors").counter().count());
+    }
+
+    @Test
+    void onMessage_ShouldDeliverMessagesOfOneDestinationInOrder() throws InterruptedException {
+        List<Long> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(50);
+        bus.subscribe(message -> {
+            delivered.add(message.sentAt());
+            done.countDown();
+        });
+
+        String destination = "/task-status/projects/1";
+        byte[] channel = ("ws:broker:" + RedisClusterMessageBus.shardOf(destination, 4)).getBytes(StandardCharsets.UTF_8);
+        for (long i = 0; i < 50; i++) {
+            byte[] body = RedisClusterMessageBus.encode(new ClusterMessage("other", destination, null, new byte[0], i));
+            bus.onMessage(new DefaultMessage(channel, body), null);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, delivered.get(i));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.taskflow.com.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class RevocationServiceImplTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOps;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @InjectMocks
+    private RevocationServiceImpl revocationService;
+
+    private final String revokedId = TokenCacheServiceImpl.sessionId("Bearer revoked");
+    private final String liveId = TokenCacheServiceImpl.sessionId("Bearer live");
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(revocationService, "expectedEntries", 1000);
+        ReflectionTestUtils.setField(revocationService, "falsePositiveRate", 0.001);
+
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        when(zSetOps.rangeByScore(eq("revoked-sessions"), anyDouble(), anyDouble())).thenReturn(Set.of(revokedId));
+        when(zSetOps.score("revoked-sessions", revokedId)).thenReturn(1.0);
+        revocationService.start();
+    }
+
+    @Test
+    void isRevoked_ShouldAnswerFromFilter_ForTokenNeverRevoked() {
+        assertFalse(revocationService.isRevoked(liveId));
+        verify(zSetOps, never()).score(anyString(), any());
+    }
+
+    @Test
+    void isRevoked_ShouldConfirmFilterHitInRedis() {
+        assertTrue(revocationService.isRevoked(revokedId));
+        verify(zSetOps, times(1)).score("revoked-sessions", revokedId);
+    }
+
+    @Test
+    void revoke_ShouldStoreUntilExpiryAndNotifyOtherNodes() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        revocationService.revoke(liveId, expiresAt);
+
+        verify(zSetOps, times(1)).add("revoked-sessions", liveId, expiresAt.toEpochMilli());
+        verify(redisTemplate, times(1)).convertAndSend("sessions:revoked", liveId);
+        when(zSetOps.score("revoked-sessions", liveId)).thenReturn(1.0);
+        assertTrue(revocationService.isRevoked(liveId));
+    }
+
+    @Test
+    void rebuild_ShouldDropExpiredEntries() {
+        verify(zSetOps, times(1)).removeRangeByScore(eq("revoked-sessions"), eq(Double.NEGATIVE_INFINITY), anyDouble());
+    }
+}
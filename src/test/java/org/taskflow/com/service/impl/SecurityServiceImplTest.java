@@ -5,21 +5,28 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.taskflow.com.annotation.PrincipalContext;
 import org.taskflow.com.entity.UserEntity;
 import org.taskflow.com.enums.Role;
 import org.taskflow.com.exception.EmailAlreadyOccupiedException;
 import org.taskflow.com.mapper.MapperSecurity;
 import org.taskflow.com.model.NewUser;
 import org.taskflow.com.model.SessionInfo;
+import org.taskflow.com.model.UserSnapshot;
 import org.taskflow.com.repository.UserRepository;
 import org.taskflow.com.service.TokenCacheService;
+import org.taskflow.com.service.UserCacheService;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -33,6 +40,9 @@ class SecurityServiceImplTest {
     @Mock
     private JwtEncoder jwtEncoder;
 
+    @Spy
+    private JwsHeader jwsHeader = JwsHeader.with(SignatureAlgorithm.ES256).keyId("active-key").build();
+
     @Mock
     private UserRepository repository;
 
@@ -45,6 +55,12 @@ class SecurityServiceImplTest {
     @Mock
     private TokenCacheService tokenCacheService;
 
+    @Mock
+    private UserCacheService userCacheService;
+
+    @Mock
+    private PrincipalContext principalContext;
+
     @InjectMocks
     private SecurityServiceImpl securityService;
 
@@ -73,8 +89,9 @@ class SecurityServiceImplTest {
         var auth = new UsernamePasswordAuthenticationToken("test@example.com", "password");
         var sessionInfo = new SessionInfo("jwt-token");
 
-        when(repository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(mapperSecurity.toUserDetailsImpl(user)).thenReturn(userDetails);
+        var snapshot = new UserSnapshot(user.getId(), user.getEmail(), user.getPassword(), user.getRole());
+        when(userCacheService.findByEmail("test@example.com")).thenReturn(Optional.of(snapshot));
+        when(mapperSecurity.toUserDetailsImpl(snapshot)).thenReturn(userDetails);
         when(mapperSecurity.toSessionInfo("jwt-token")).thenReturn(sessionInfo);
 
         Jwt dummyJwt = Jwt.withTokenValue("jwt-token")
@@ -86,7 +103,9 @@ class SecurityServiceImplTest {
         var result = securityService.loginInfo(auth);
 
         assertEquals("jwt-token", result.token());
-        verify(tokenCacheService).saveToken("test@example.com", "Bearer jwt-token");
+        verify(tokenCacheService).saveToken(eq("Bearer jwt-token"), eq("test@example.com"), any(Instant.class));
+        verify(jwtEncoder).encode(argThat(parameters -> "active-key".equals(parameters.getJwsHeader().getKeyId())
+                && parameters.getJwsHeader().getAlgorithm() == SignatureAlgorithm.ES256));
     }
 
     @Test
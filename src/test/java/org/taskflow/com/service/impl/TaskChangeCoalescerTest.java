@@ -0,0 +1,115 @@
+package org.taskflow.com.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.taskflow.com.enums.TaskEventType;
+import org.taskflow.com.model.TaskChange;
+import org.taskflow.com.repository.TaskEventRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class TaskChangeCoalescerTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private TaskEventRepository taskEventRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskChangeCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        taskEventRepository = mock(TaskEventRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new TaskChangeCoalescer(messagingTemplate, taskEventRepository, meterRegistry);
+    }
+
+    @Test
+    void flush_ShouldSendOneFrameWithLatestChangePerTask() {
+        for (long version = 0; version < 500; version++) {
+            coalescer.send("/task-status/projects/1", change(10L, TaskEventType.UPDATED, version));
+        }
+        coalescer.send("/task-status/projects/1", change(11L, TaskEventType.CREATED, 0L));
+
+        coalescer.flush();
+
+        verify(messagingTemplate, times(1)).convertAndSend("/task-status/projects/1",
+                List.of(change(10L, TaskEventType.UPDATED, 499L), change(11L, TaskEventType.CREATED, 0L)));
+        assertEquals(499.0, meterRegistry.get("websocket.task_changes.coalesced").counter().count());
+        assertEquals(1.0, meterRegistry.get("websocket.task_changes.frames").counter().count());
+    }
+
+    @Test
+    void flush_ShouldKeepNewerVersion_WhenChangesArriveOutOfOrder() {
+        coalescer.sendToUser("user@example.com", "/queue/tasks", change(10L, TaskEventType.DELETED, 3L));
+        coalescer.sendToUser("user@example.com", "/queue/tasks", change(10L, TaskEventType.UPDATED, 2L));
+
+        coalescer.flush();
+
+        verify(messagingTemplate, times(1)).convertAndSendToUser("user@example.com", "/queue/tasks",
+                List.of(change(10L, TaskEventType.DELETED, 3L)));
+    }
+
+    @Test
+    void flush_ShouldKeepDeletion_WhenItFollowsUpdateOfSameTask() {
+        coalescer.send("/task-status/projects/1", change(10L, TaskEventType.UPDATED, 4L));
+        coalescer.send("/task-status/projects/1", change(10L, TaskEventType.DELETED, 5L));
+
+        coalescer.flush();
+
+        verify(messagingTemplate, times(1)).convertAndSend("/task-status/projects/1",
+                List.of(change(10L, TaskEventType.DELETED, 5L)));
+    }
+
+    @Test
+    void flush_ShouldSendEachDestinationSeparatelyAndOnlyOnce() {
+        coalescer.send("/task-status/projects/1", change(10L, TaskEventType.UPDATED, 1L));
+        coalescer.sendToUser("user@example.com", "/queue/tasks", change(10L, TaskEventType.UPDATED, 1L));
+
+        coalescer.flush();
+        coalescer.flush();
+
+        verify(messagingTemplate, times(1)).convertAndSend("/task-status/projects/1",
+                List.of(change(10L, TaskEventType.UPDATED, 1L)));
+        verify(messagingTemplate, times(1)).convertAndSendToUser("user@example.com", "/queue/tasks",
+                List.of(change(10L, TaskEventType.UPDATED, 1L)));
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    void flush_ShouldDeleteEventsOnlyAfterSendingTheirChanges() {
+        coalescer.send("/task-status/projects/1", change(10L, TaskEventType.UPDATED, 1L));
+        coalescer.deleteAfterSending(List.of(7L, 8L));
+
+        coalescer.flush();
+        coalescer.flush();
+
+        InOrder inOrder = inOrder(messagingTemplate, taskEventRepository);
+        inOrder.verify(messagingTemplate).convertAndSend("/task-status/projects/1", List.of(change(10L, TaskEventType.UPDATED, 1L)));
+        inOrder.verify(taskEventRepository).deleteAllByIdInBatch(List.of(7L, 8L));
+        verifyNoMoreInteractions(taskEventRepository);
+    }
+
+    @Test
+    void flush_ShouldKeepEvents_WhenSendingFails() {
+        doThrow(new MessageDeliveryException("broker stopped"))
+                .when(messagingTemplate).convertAndSend(eq("/task-status/projects/1"), any(Object.class));
+        coalescer.send("/task-status/projects/1", change(10L, TaskEventType.UPDATED, 1L));
+        coalescer.deleteAfterSending(List.of(7L));
+
+        assertThrows(MessageDeliveryException.class, () -> coalescer.flush());
+
+        verifyNoInteractions(taskEventRepository);
+    }
+
+    private static TaskChange change(Long taskId, TaskEventType type, Long version) {
+        return new TaskChange(taskId, type, version, null);
+    }
+}
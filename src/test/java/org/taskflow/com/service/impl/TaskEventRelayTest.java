@@ -0,0 +1,118 @@
+package org.taskflow.com.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.taskflow.com.entity.TaskEventEntity;
+import org.taskflow.com.enums.TaskEventType;
+import org.taskflow.com.model.TaskChange;
+import org.taskflow.com.model.TaskDTO;
+import org.taskflow.com.repository.TaskEventRepository;
+import org.taskflow.com.repository.TaskRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+class TaskEventRelayTest {
+
+    @Mock
+    private TaskEventRepository taskEventRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskChangeCoalescer coalescer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TaskEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(relay, "batchSize", 3);
+        ReflectionTestUtils.setField(relay, "claimLease", Duration.ofSeconds(30));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void relay_ShouldSendLatestChangePerTaskToEachProjectAndClaimEventsUntilSent() {
+        TaskDTO task = new TaskDTO(10L, "Report", null, "High", "In Progress", "user@example.com", null, null, 1L);
+        when(taskEventRepository.lockBatch(3)).thenReturn(List.of(
+                event(1L, 10L, 1L, TaskEventType.CREATED, 0L, null),
+                event(2L, 10L, 1L, TaskEventType.UPDATED, 1L, null),
+                event(3L, 11L, 2L, TaskEventType.DELETED, 4L, null)), List.of());
+        when(taskRepository.findDtosByIdIn(List.of(10L))).thenReturn(List.of(task));
+
+        relay.relay();
+
+        verify(coalescer, times(1)).send("/task-status/projects/1", new TaskChange(10L, TaskEventType.UPDATED, 1L, task));
+        verify(coalescer, times(1)).send("/task-status/projects/2", new TaskChange(11L, TaskEventType.DELETED, 4L, null));
+        verify(taskEventRepository, times(1)).claim(List.of(1L, 2L, 3L), 30L);
+        InOrder inOrder = inOrder(coalescer);
+        inOrder.verify(coalescer, times(2)).send(anyString(), any(TaskChange.class));
+        inOrder.verify(coalescer).deleteAfterSending(List.of(1L, 2L, 3L));
+        verifyNoMoreInteractions(coalescer);
+        verify(taskEventRepository, never()).deleteAllByIdInBatch(any());
+        verify(taskEventRepository, times(2)).lockBatch(3);
+    }
+
+    @Test
+    void relay_ShouldStopAfterShortBatch() {
+        when(taskEventRepository.lockBatch(3)).thenReturn(List.of(event(1L, 11L, 2L, TaskEventType.DELETED, 0L, null)));
+
+        relay.relay();
+
+        verify(taskEventRepository, times(1)).lockBatch(3);
+        verify(taskRepository, never()).findDtosByIdIn(any());
+    }
+
+    @Test
+    void relay_ShouldSendEachAssigneeOnlyTheirOwnChanges() {
+        TaskDTO task = new TaskDTO(10L, "Report", null, "High", "Open", "alice@example.com", null, null, 1L);
+        when(taskEventRepository.lockBatch(3)).thenReturn(List.of(
+                event(1L, 10L, 1L, TaskEventType.CREATED, 0L, "alice@example.com"),
+                event(2L, 11L, 1L, TaskEventType.DELETED, 2L, "bob@example.com")));
+        when(taskRepository.findDtosByIdIn(List.of(10L))).thenReturn(List.of(task));
+
+        relay.relay();
+
+        verify(coalescer, times(1)).sendToUser("alice@example.com", "/queue/tasks",
+                new TaskChange(10L, TaskEventType.CREATED, 0L, task));
+        verify(coalescer, times(1)).sendToUser("bob@example.com", "/queue/tasks",
+                new TaskChange(11L, TaskEventType.DELETED, 2L, null));
+        verify(coalescer, times(2)).send(eq("/task-status/projects/1"), any(TaskChange.class));
+    }
+
+    @Test
+    void relay_ShouldSendNothing_WhenOutboxIsEmpty() {
+        when(taskEventRepository.lockBatch(3)).thenReturn(List.of());
+
+        relay.relay();
+
+        verifyNoInteractions(coalescer);
+        verify(taskEventRepository, never()).claim(any(), anyLong());
+    }
+
+    private static TaskEventEntity event(Long id, Long taskId, Long projectId, TaskEventType type, Long version, String assignee) {
+        return TaskEventEntity.builder()
+                .id(id)
+                .taskId(taskId)
+                .projectId(projectId)
+                .type(type)
+                .taskVersion(version)
+                .assigneeEmail(assignee)
+                .build();
+    }
+}
@@ -1,25 +1,62 @@
 package org.taskflow.com.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.taskflow.com.annotation.PrincipalContext;
 import org.taskflow.com.entity.ProjectEntity;
 import org.taskflow.com.entity.TaskEntity;
 import org.taskflow.com.entity.UserEntity;
+import org.taskflow.com.enums.ExportFormat;
+import org.taskflow.com.enums.TaskPriority;
+import org.taskflow.com.enums.TaskSortField;
+import org.taskflow.com.enums.TaskStatus;
+import org.taskflow.com.enums.Role;
+import org.taskflow.com.exception.TaskVersionConflictException;
+import org.taskflow.com.exception.UnknownTaskValueException;
+import org.taskflow.com.model.AuthenticatedUser;
+import org.taskflow.com.model.BulkItemResult;
+import org.taskflow.com.model.BulkResult;
+import org.taskflow.com.model.BulkUpdateTaskDTO;
 import org.taskflow.com.model.CreateTaskDTO;
+import org.taskflow.com.model.PatchTaskDTO;
 import org.taskflow.com.model.TaskDTO;
+import org.taskflow.com.model.TaskFilter;
+import org.taskflow.com.model.TaskPage;
+import org.taskflow.com.model.TaskQueryPage;
+import org.taskflow.com.model.TaskSearchPage;
 import org.taskflow.com.model.UpdateTaskDTO;
 import org.taskflow.com.repository.ProjectRepository;
+import org.taskflow.com.repository.TaskEventRepository;
 import org.taskflow.com.repository.TaskRepository;
 import org.taskflow.com.repository.UserRepository;
-import org.taskflow.com.service.TokenCacheService;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,7 +73,18 @@ class TaskServiceImplTest {
     private ProjectRepository projectRepository;
 
     @Mock
-    private TokenCacheService tokenCacheService;
+    private TaskEventRepository taskEventRepository;
+
+    @Mock
+    private PrincipalContext principalContext;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .registerModule(new JavaTimeModule());
 
     @InjectMocks
     private TaskServiceImpl taskService;
@@ -45,6 +93,7 @@ class TaskServiceImplTest {
     private final String email = "user@example.com";
     private final Long taskId = 1L;
     private final Long projectId = 1L;
+    private final Long userId = 1L;
     private UserEntity user;
     private ProjectEntity project;
     private TaskEntity task;
@@ -54,6 +103,7 @@ class TaskServiceImplTest {
         MockitoAnnotations.openMocks(this);
 
         user = new UserEntity();
+        user.setId(userId);
         user.setEmail(email);
 
         project = new ProjectEntity();
@@ -63,8 +113,8 @@ class TaskServiceImplTest {
                 .id(taskId)
                 .title("Test Task")
                 .description("Test Description")
-                .priority("High")
-                .status("Open")
+                .priority(TaskPriority.HIGH)
+                .status(TaskStatus.OPEN)
                 .assignedTo(user)
                 .project(project)
                 .deadline(LocalDateTime.now().plusDays(1))
@@ -75,24 +125,56 @@ class TaskServiceImplTest {
     @Test
     void createTask_ShouldCreateTask() {
         CreateTaskDTO createTaskDTO = new CreateTaskDTO("Test Task", "Test Description", "High", "Open", projectId, LocalDateTime.now().plusDays(1));
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn(email);
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(taskRepository.save(any(TaskEntity.class))).thenReturn(task);
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(projectRepository.isAccessibleTo(projectId, userId)).thenReturn(true);
+        when(projectRepository.getReferenceById(projectId)).thenReturn(project);
+        when(taskRepository.saveAndFlush(any(TaskEntity.class))).thenReturn(task);
 
         TaskDTO createdTask = taskService.createTask(createTaskDTO, authHeader);
 
         assertNotNull(createdTask);
         assertEquals(taskId, createdTask.id());
         assertEquals("Test Task", createdTask.title());
-        verify(taskRepository, times(1)).save(any(TaskEntity.class));
+        assertEquals(email, createdTask.assignedToEmail());
+        verify(taskRepository, times(1)).saveAndFlush(any(TaskEntity.class));
+        verify(taskEventRepository, times(1)).record("CREATED", List.of(taskId));
+        verify(userRepository, never()).findByEmail(any());
+        verify(projectRepository, never()).findById(any());
+    }
+
+    @Test
+    void createTask_ShouldStoreEnumsParsedFromLenientNames() {
+        CreateTaskDTO createTaskDTO = new CreateTaskDTO("Test Task", null, " urgent", "in-progress", projectId, null);
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(projectRepository.isAccessibleTo(projectId, userId)).thenReturn(true);
+        when(taskRepository.saveAndFlush(any(TaskEntity.class))).thenAnswer(invocation -> {
+            TaskEntity saved = invocation.getArgument(0);
+            saved.setId(taskId);
+            return saved;
+        });
+
+        TaskDTO createdTask = taskService.createTask(createTaskDTO, authHeader);
+
+        verify(taskRepository).saveAndFlush(argThat((TaskEntity saved) ->
+                saved.getPriority() == TaskPriority.CRITICAL && saved.getStatus() == TaskStatus.IN_PROGRESS));
+        assertEquals("Critical", createdTask.priority());
+        assertEquals("In Progress", createdTask.status());
+    }
+
+    @Test
+    void createTask_ShouldRejectUnknownStatus() {
+        CreateTaskDTO createTaskDTO = new CreateTaskDTO("Test Task", null, "High", "Someday", projectId, null);
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+
+        assertThrows(UnknownTaskValueException.class, () -> taskService.createTask(createTaskDTO, authHeader));
+        verify(taskRepository, never()).saveAndFlush(any(TaskEntity.class));
     }
 
     @Test
     void createTask_ShouldThrowEntityNotFoundException_WhenUserNotFound() {
         CreateTaskDTO createTaskDTO = new CreateTaskDTO("Test Task", "Test Description", "High", "Open", projectId, LocalDateTime.now().plusDays(1));
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn(email);
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(principalContext.getUser()).thenThrow(new EntityNotFoundException("User not found"));
 
         assertThrows(EntityNotFoundException.class, () -> taskService.createTask(createTaskDTO, authHeader));
     }
@@ -100,42 +182,306 @@ class TaskServiceImplTest {
     @Test
     void createTask_ShouldThrowEntityNotFoundException_WhenProjectNotFound() {
         CreateTaskDTO createTaskDTO = new CreateTaskDTO("Test Task", "Test Description", "High", "Open", projectId, LocalDateTime.now().plusDays(1));
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn(email);
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
-        when(projectRepository.findById(projectId)).thenReturn(Optional.empty());
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(projectRepository.isAccessibleTo(projectId, userId)).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> taskService.createTask(createTaskDTO, authHeader));
+        verify(taskRepository, never()).saveAndFlush(any(TaskEntity.class));
+    }
+
+    @Test
+    void createTask_ShouldThrowEntityNotFoundException_WhenProjectIsDeletedBeforeInsert() {
+        CreateTaskDTO createTaskDTO = new CreateTaskDTO("Test Task", null, "High", "Open", projectId, null);
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(projectRepository.isAccessibleTo(projectId, userId)).thenReturn(true);
+        when(taskRepository.saveAndFlush(any(TaskEntity.class))).thenThrow(new DataIntegrityViolationException("insert failed",
+                new ConstraintViolationException("insert failed", new SQLException(), "fk_tasks_project_id")));
+
+        EntityNotFoundException e = assertThrows(EntityNotFoundException.class, () -> taskService.createTask(createTaskDTO, authHeader));
+        assertEquals("Project not found", e.getMessage());
+        verify(taskEventRepository, never()).record(any(), any());
+    }
+
+    @Test
+    void createTask_ShouldRethrowOtherConstraintViolations() {
+        CreateTaskDTO createTaskDTO = new CreateTaskDTO("Test Task", null, "High", "Open", projectId, null);
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(projectRepository.isAccessibleTo(projectId, userId)).thenReturn(true);
+        when(taskRepository.saveAndFlush(any(TaskEntity.class))).thenThrow(new DataIntegrityViolationException("insert failed",
+                new ConstraintViolationException("insert failed", new SQLException(), "ck_tasks_status")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> taskService.createTask(createTaskDTO, authHeader));
+    }
+
+    @Test
+    void getTasks_ShouldReturnLastPageWithoutCursor() {
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(taskRepository.findPageByAssignee(userId, 0, Limit.of(11)))
+                .thenReturn(List.of(taskDTO(taskId)));
+
+        TaskPage page = taskService.getTasks(authHeader, null, 10);
+
+        assertNotNull(page);
+        assertEquals(1, page.items().size());
+        assertEquals(taskId, page.items().get(0).id());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getTasks_ShouldReturnCursorOfLastItem_WhenMoreTasksFollow() {
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(taskRepository.findPageByAssignee(userId, 1L, Limit.of(3)))
+                .thenReturn(List.of(taskDTO(3L), taskDTO(4L), taskDTO(5L)));
+
+        TaskPage page = taskService.getTasks(authHeader, 1L, 2);
+
+        assertEquals(List.of(3L, 4L), page.items().stream().map(TaskDTO::id).toList());
+        assertEquals(4L, page.nextCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createTasks_ShouldCheckProjectsOnceAndReportMissingProject() {
+        CreateTaskDTO first = new CreateTaskDTO("First", null, "High", "Open", projectId, null);
+        CreateTaskDTO orphan = new CreateTaskDTO("Orphan", null, "Low", "Open", 99L, null);
+        CreateTaskDTO second = new CreateTaskDTO("Second", null, "Low", "Open", projectId, null);
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(projectRepository.findAccessibleIds(Set.of(projectId, 99L), userId)).thenReturn(Set.of(projectId));
+        when(projectRepository.getReferenceById(projectId)).thenReturn(project);
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TaskEntity> tasks = invocation.getArgument(0);
+            for (int i = 0; i < tasks.size(); i++) {
+                tasks.get(i).setId(10L + i);
+            }
+            return tasks;
+        });
+
+        BulkResult result = taskService.createTasks(List.of(first, orphan, second), authHeader);
+
+        assertEquals(List.of(
+                BulkItemResult.ok(0, 10L, 201),
+                BulkItemResult.failed(1, null, 404, "Project not found"),
+                BulkItemResult.ok(2, 11L, 201)), result.items());
+        assertEquals(2, result.succeeded());
+        assertEquals(1, result.failed());
+        verify(projectRepository, times(1)).findAccessibleIds(any(), eq(userId));
+        verify(projectRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any(TaskEntity.class));
+    }
+
+    @Test
+    void createTasks_ShouldReportItemsMissingRequiredFieldsWithoutFailingTheBatch() {
+        CreateTaskDTO valid = new CreateTaskDTO("Valid", null, "High", "Open", projectId, null);
+        CreateTaskDTO noTitle = new CreateTaskDTO(null, null, "High", "Open", projectId, null);
+        CreateTaskDTO noStatus = new CreateTaskDTO("No status", null, "High", null, projectId, null);
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(projectRepository.findAccessibleIds(Set.of(projectId), userId)).thenReturn(Set.of(projectId));
+        when(projectRepository.getReferenceById(projectId)).thenReturn(project);
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TaskEntity> tasks = invocation.getArgument(0);
+            tasks.forEach(saved -> saved.setId(10L));
+            return tasks;
+        });
+
+        BulkResult result = taskService.createTasks(List.of(valid, noTitle, noStatus), authHeader);
+
+        assertEquals(List.of(
+                BulkItemResult.ok(0, 10L, 201),
+                BulkItemResult.failed(1, null, 400, "title is required"),
+                BulkItemResult.failed(2, null, 400, "status is required")), result.items());
+        verify(taskRepository).saveAll(argThat((List<TaskEntity> saved) -> saved.size() == 1));
+    }
+
+    @Test
+    void updateTasks_ShouldReportItemMissingPriorityAndKeepTask() {
+        BulkUpdateTaskDTO noPriority = new BulkUpdateTaskDTO(taskId, "Updated Task", null, null, "Done", null);
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(taskRepository.findByIdInAndAssignedTo_Id(Set.of(taskId), userId)).thenReturn(List.of(task));
+
+        BulkResult result = taskService.updateTasks(List.of(noPriority), authHeader);
+
+        assertEquals(List.of(BulkItemResult.failed(0, taskId, 400, "priority is required")), result.items());
+        assertEquals("Test Task", task.getTitle());
+        verify(taskEventRepository, never()).record(any(), any());
+    }
+
+    @Test
+    void updateTasks_ShouldApplyChangesToOwnedTasksOnly() {
+        BulkUpdateTaskDTO owned = new BulkUpdateTaskDTO(taskId, "Updated Task", "Updated Description", "Medium", "In Progress", null);
+        BulkUpdateTaskDTO foreign = new BulkUpdateTaskDTO(2L, "Other", null, "Low", "Open", null);
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(taskRepository.findByIdInAndAssignedTo_Id(Set.of(taskId, 2L), userId)).thenReturn(List.of(task));
+
+        BulkResult result = taskService.updateTasks(List.of(owned, foreign), authHeader);
+
+        assertEquals(List.of(
+                BulkItemResult.ok(0, taskId, 200),
+                BulkItemResult.failed(1, 2L, 404, "Task not found")), result.items());
+        assertEquals("Updated Task", task.getTitle());
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        verify(taskEventRepository, times(1)).record("UPDATED", List.of(taskId));
     }
 
     @Test
-    void getTasks_ShouldReturnListOfTasks() {
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn(email);
-        when(taskRepository.findByAssignedTo_Email(email))
-                .thenReturn(Optional.ofNullable(task));
+    void deleteTasks_ShouldDeleteOwnedTasksInOneStatement() {
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(taskRepository.findIdsAssignedTo(Set.of(taskId, 2L), userId)).thenReturn(Set.of(taskId));
+
+        BulkResult result = taskService.deleteTasks(List.of(taskId, 2L), authHeader);
+
+        assertEquals(List.of(
+                BulkItemResult.ok(0, taskId, 204),
+                BulkItemResult.failed(1, 2L, 404, "Task not found")), result.items());
+        InOrder order = inOrder(taskEventRepository, taskRepository);
+        order.verify(taskEventRepository).record("DELETED", Set.of(taskId));
+        order.verify(taskRepository).deleteAllByIdInBatch(Set.of(taskId));
+        verify(taskRepository, never()).delete(any(TaskEntity.class));
+    }
+
+    @Test
+    void exportProjectTasks_ShouldWriteOneLinePerTask_WhenNdjson() throws Exception {
+        when(principalContext.getEmail()).thenReturn(email);
+        when(projectRepository.existsByIdAndCreatedBy_Email(projectId, email)).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(taskRepository.streamByProject(projectId)).thenReturn(Stream.of(
+                new TaskDTO(1L, "First", null, "High", "Open", email, null, null, 0L),
+                new TaskDTO(2L, "Second", null, "Low", "Done", null, null, null, 0L)));
+
+        String body = export(ExportFormat.NDJSON);
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertTrue(line.startsWith("{"), line);
+        }
+        assertEquals(1L, objectMapper.readValue(lines[0], TaskDTO.class).id());
+        assertNull(objectMapper.readValue(lines[1], TaskDTO.class).assignedToEmail());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void exportProjectTasks_ShouldFlushByIntervalAndLeaveResponseOpen() throws Exception {
+        when(principalContext.getEmail()).thenReturn(email);
+        when(projectRepository.existsByIdAndCreatedBy_Email(projectId, email)).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(taskRepository.streamByProject(projectId)).thenReturn(LongStream.rangeClosed(1, 3)
+                .mapToObj(id -> new TaskDTO(id, "Task " + id, null, "High", "Open", email, null, null, 0L)));
+        AtomicInteger flushes = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        taskService.exportProjectTasks(projectId, ExportFormat.NDJSON, authHeader).writeTo(out);
+
+        // Once after the first row and once when the generator is closed.
+        assertEquals(2, flushes.get());
+        assertFalse(closed.get());
+        assertEquals(3, out.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    @Test
+    void exportProjectTasks_ShouldWriteJsonArray_WhenJson() throws Exception {
+        when(principalContext.getEmail()).thenReturn(email);
+        when(projectRepository.existsByIdAndCreatedBy_Email(projectId, email)).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(taskRepository.streamByProject(projectId)).thenReturn(Stream.of(
+                new TaskDTO(1L, "First", null, "High", "Open", email, null, null, 0L),
+                new TaskDTO(2L, "Second", null, "Low", "Done", null, null, null, 0L)));
+
+        String body = export(ExportFormat.JSON);
+
+        List<TaskDTO> tasks = List.of(objectMapper.readValue(body, TaskDTO[].class));
+        assertEquals(List.of(1L, 2L), tasks.stream().map(TaskDTO::id).toList());
+    }
+
+    @Test
+    void exportProjectTasks_ShouldThrowEntityNotFoundException_WhenProjectNotOwned() {
+        when(principalContext.getEmail()).thenReturn(email);
+        when(projectRepository.existsByIdAndCreatedBy_Email(projectId, email)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> taskService.exportProjectTasks(projectId, ExportFormat.NDJSON, authHeader));
+        verifyNoInteractions(transactionManager);
+        verify(taskRepository, never()).streamByProject(any());
+    }
+
+    @Test
+    void queryTasks_ShouldSortWithIdTieBreakerAndSkipEarlierPages() {
+        TaskFilter filter = new TaskFilter(projectId, "Open", null, null, null, null);
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(projectRepository.findIdsCreatedBy(userId)).thenReturn(List.of(projectId));
+        when(taskRepository.findDtos(any(), eq(Sort.by(Sort.Direction.DESC, "deadline").and(Sort.by("id"))), eq(20L), eq(11)))
+                .thenReturn(List.of(taskDTO(1L), taskDTO(2L)));
+
+        TaskQueryPage page = taskService.queryTasks(filter, TaskSortField.DEADLINE, Sort.Direction.DESC, 2, 10, authHeader);
+
+        verify(projectRepository, times(1)).findIdsCreatedBy(userId);
+        assertEquals(List.of(1L, 2L), page.items().stream().map(TaskDTO::id).toList());
+        assertEquals(2, page.page());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void searchTasks_ShouldKeepRankOrderAndReturnCursorOfLastHit() {
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(taskRepository.searchPage(userId, "report", projectId, null, null, null, 3)).thenReturn(List.of(
+                new Object[]{5L, 0.9f}, new Object[]{2L, 0.5f}, new Object[]{7L, 0.1f}));
+        when(taskRepository.findDtosByIdIn(List.of(5L, 2L))).thenReturn(List.of(taskDTO(2L), taskDTO(5L)));
 
-        List<TaskDTO> tasks = taskService.getTasks(authHeader);
+        TaskSearchPage page = taskService.searchTasks("report", projectId, null, null, 2, authHeader);
 
-        assertNotNull(tasks);
-        assertEquals(1, tasks.size());
-        assertEquals(taskId, tasks.get(0).id());
+        assertEquals(List.of(5L, 2L), page.items().stream().map(TaskDTO::id).toList());
+        assertEquals("0.5:2", page.nextCursor());
+    }
+
+    @Test
+    void searchTasks_ShouldContinueAfterCursor() {
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(taskRepository.searchPage(userId, "report", null, TaskStatus.OPEN.getCode(), 0.5f, 2L, 3))
+                .thenReturn(List.<Object[]>of(new Object[]{7L, 0.1f}));
+        when(taskRepository.findDtosByIdIn(List.of(7L))).thenReturn(List.of(taskDTO(7L)));
+
+        TaskSearchPage page = taskService.searchTasks("report", null, "Open", "0.5:2", 2, authHeader);
+
+        assertEquals(List.of(7L), page.items().stream().map(TaskDTO::id).toList());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void searchTasks_ShouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.searchTasks("report", null, null, "garbage", 20, authHeader));
+        verify(taskRepository, never()).searchPage(any(), any(), any(), any(), any(), any(), anyInt());
     }
 
     @Test
     void getTaskById_ShouldReturnTask() {
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn(email);
-        when(taskRepository.findByIdAndAssignedTo_Email(taskId, email)).thenReturn(Optional.of(task));
+        when(principalContext.getEmail()).thenReturn(email);
+        when(taskRepository.findDtoByIdAndAssignee(taskId, email)).thenReturn(Optional.of(taskDTO(taskId)));
 
         TaskDTO foundTask = taskService.getTaskById(taskId, authHeader);
 
         assertNotNull(foundTask);
         assertEquals(taskId, foundTask.id());
         assertEquals("Test Task", foundTask.title());
+        assertEquals(email, foundTask.assignedToEmail());
+        verify(taskRepository, never()).findByIdAndAssignedTo_Email(any(), any());
     }
 
     @Test
     void getTaskById_ShouldThrowEntityNotFoundException_WhenTaskNotFound() {
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn(email);
-        when(taskRepository.findByIdAndAssignedTo_Email(taskId, email)).thenReturn(Optional.empty());
+        when(principalContext.getEmail()).thenReturn(email);
+        when(taskRepository.findDtoByIdAndAssignee(taskId, email)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> taskService.getTaskById(taskId, authHeader));
     }
@@ -143,7 +489,7 @@ class TaskServiceImplTest {
     @Test
     void updateTask_ShouldUpdateTask() {
         UpdateTaskDTO updateTaskDTO = new UpdateTaskDTO("Updated Task", "Updated Description", "Medium", "In Progress", LocalDateTime.now().plusDays(2));
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn(email);
+        when(principalContext.getEmail()).thenReturn(email);
         when(taskRepository.findByIdAndAssignedTo_Email(taskId, email)).thenReturn(Optional.of(task));
         when(taskRepository.save(any(TaskEntity.class))).thenReturn(task);
 
@@ -158,27 +504,95 @@ class TaskServiceImplTest {
     @Test
     void updateTask_ShouldThrowEntityNotFoundException_WhenTaskNotFound() {
         UpdateTaskDTO updateTaskDTO = new UpdateTaskDTO("Updated Task", "Updated Description", "Medium", "In Progress", LocalDateTime.now().plusDays(2));
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn(email);
+        when(principalContext.getEmail()).thenReturn(email);
         when(taskRepository.findByIdAndAssignedTo_Email(taskId, email)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> taskService.updateTask(taskId, updateTaskDTO, authHeader));
     }
 
+    @Test
+    void patchTask_ShouldUpdateSuppliedFieldsInOneStatement() {
+        PatchTaskDTO patch = patch(3L);
+        patch.setStatus("Done");
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(taskRepository.patch(taskId, userId, 3L, null, false, null, null, TaskStatus.DONE, false, null)).thenReturn(1);
+
+        long version = taskService.patchTask(taskId, patch, authHeader);
+
+        assertEquals(4L, version);
+        verify(taskEventRepository, times(1)).record("UPDATED", List.of(taskId));
+        verify(taskRepository, never()).existsByIdAndAssignedTo_Id(any(), any());
+        verify(taskRepository, never()).findByIdAndAssignedTo_Email(any(), any());
+    }
+
+    @Test
+    void patchTask_ShouldClearDescriptionAndSetDeadline_WhenSentExplicitly() {
+        LocalDateTime deadline = LocalDateTime.of(2025, 3, 10, 15, 30);
+        PatchTaskDTO patch = patch(3L);
+        patch.setDescription(null);
+        patch.setDeadline(deadline);
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(taskRepository.patch(taskId, userId, 3L, null, true, null, null, null, true, deadline)).thenReturn(1);
+
+        assertEquals(4L, taskService.patchTask(taskId, patch, authHeader));
+    }
+
+    @Test
+    void patchTask_ShouldThrowConflict_WhenVersionIsStale() {
+        PatchTaskDTO patch = patch(3L);
+        patch.setTitle("Renamed");
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(taskRepository.patch(taskId, userId, 3L, "Renamed", false, null, null, null, false, null)).thenReturn(0);
+        when(taskRepository.existsByIdAndAssignedTo_Id(taskId, userId)).thenReturn(true);
+
+        assertThrows(TaskVersionConflictException.class, () -> taskService.patchTask(taskId, patch, authHeader));
+        verify(taskEventRepository, never()).record(any(), any());
+    }
+
+    @Test
+    void patchTask_ShouldThrowEntityNotFoundException_WhenTaskNotFound() {
+        PatchTaskDTO patch = patch(3L);
+        patch.setTitle("Renamed");
+        when(principalContext.getUser()).thenReturn(new AuthenticatedUser(userId, email, Role.USER));
+        when(taskRepository.existsByIdAndAssignedTo_Id(taskId, userId)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> taskService.patchTask(taskId, patch, authHeader));
+    }
+
+    private static PatchTaskDTO patch(Long version) {
+        PatchTaskDTO patch = new PatchTaskDTO();
+        patch.setVersion(version);
+        return patch;
+    }
+
     @Test
     void deleteTask_ShouldDeleteTask() {
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn(email);
+        when(principalContext.getEmail()).thenReturn(email);
         when(taskRepository.findByIdAndAssignedTo_Email(taskId, email)).thenReturn(Optional.of(task));
 
         taskService.deleteTask(taskId, authHeader);
 
-        verify(taskRepository, times(1)).delete(task);
+        InOrder order = inOrder(taskEventRepository, taskRepository);
+        order.verify(taskEventRepository).record("DELETED", List.of(taskId));
+        order.verify(taskRepository).delete(task);
     }
 
     @Test
     void deleteTask_ShouldThrowEntityNotFoundException_WhenTaskNotFound() {
-        when(tokenCacheService.getEmailByToken(authHeader)).thenReturn(email);
+        when(principalContext.getEmail()).thenReturn(email);
         when(taskRepository.findByIdAndAssignedTo_Email(taskId, email)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> taskService.deleteTask(taskId, authHeader));
     }
+
+    private TaskDTO taskDTO(Long id) {
+        return new TaskDTO(id, "Test Task", "Test Description", "High", "Open", email, null, null, 0L);
+    }
+
+    private String export(ExportFormat format) throws Exception {
+        StreamingResponseBody body = taskService.exportProjectTasks(projectId, format, authHeader);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
 }
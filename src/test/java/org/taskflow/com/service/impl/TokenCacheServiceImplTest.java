@@ -1,14 +1,32 @@
 package org.taskflow.com.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import io.lettuce.core.KeyScanCursor;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.taskflow.com.model.ActiveSession;
+import org.taskflow.com.model.SessionPage;
+import org.taskflow.com.service.RevocationService;
+
+import java.time.Duration;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 class TokenCacheServiceImplTest {
@@ -16,51 +34,141 @@ class TokenCacheServiceImplTest {
     @Mock
     private RedisTemplate<String, String> redisTemplate;
 
+    @Mock
+    private ValueOperations<String, String> valueOps;
+
+    @Mock
+    private SetOperations<String, String> setOps;
+
     @Mock
     private HashOperations<String, Object, Object> hashOps;
 
+    @Mock
+    private RevocationService revocationService;
+
+    @Spy
+    private Cache<String, String> tokenNearCache = Caffeine.newBuilder().build();
+
     @InjectMocks
     private TokenCacheServiceImpl tokenCacheService;
 
+    private final String token = "Bearer jwt-token";
+    private final String email = "test@example.com";
+    private final String sessionId = TokenCacheServiceImpl.sessionId(token);
+    private final String sessionKey = "session:" + sessionId;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(redisTemplate.opsForSet()).thenReturn(setOps);
         when(redisTemplate.opsForHash()).thenReturn(hashOps);
     }
 
     @Test
-    void saveToken_ShouldSaveTokenAndEmail() {
-        String token = "jwt-token";
-        String email = "test@example.com";
+    void saveToken_ShouldStoreSessionWithTtlAndIndexIt() {
+        tokenCacheService.saveToken(token, email, Instant.now().plus(Duration.ofMinutes(180)));
 
-        tokenCacheService.saveToken(token, email);
+        verify(valueOps, times(1)).set(eq(sessionKey), eq(email), any(Duration.class));
+        verify(setOps, times(1)).add("user-sessions:" + email, sessionId);
+        verify(redisTemplate, times(1)).expire(eq("user-sessions:" + email), any(Duration.class));
+    }
 
-        verify(hashOps, times(1)).put("tokens", email, token);
-        verify(redisTemplate, times(1)).opsForHash();
+    @Test
+    void saveToken_ShouldSkipExpiredToken() {
+        tokenCacheService.saveToken(token, email, Instant.now().minusSeconds(1));
+
+        verifyNoInteractions(valueOps, setOps);
     }
 
     @Test
     void getEmailByToken_ShouldReturnEmail() {
-        String token = "jwt-token";
-        String expectedEmail = "test@example.com";
+        when(valueOps.get(sessionKey)).thenReturn(email);
+
+        String result = tokenCacheService.getEmailByToken(token);
 
-        when(hashOps.get("tokens", token)).thenReturn(expectedEmail);
+        assertEquals(email, result, "The fetched email should match the expected email.");
+        verify(valueOps, times(1)).get(sessionKey);
+    }
+
+    @Test
+    void getEmailByToken_ShouldServeRepeatedLookupsFromNearCache() {
+        when(valueOps.get(sessionKey)).thenReturn(email);
 
-        String email = tokenCacheService.getEmailByToken(token);
+        tokenCacheService.getEmailByToken(token);
+        String result = tokenCacheService.getEmailByToken(token);
 
-        assertEquals(expectedEmail, email, "The fetched email should match the expected email.");
-        verify(hashOps, times(1)).get("tokens", token);
-        verify(redisTemplate, times(1)).opsForHash();
+        assertEquals(email, result);
+        verify(valueOps, times(1)).get(sessionKey);
     }
 
     @Test
-    void deleteToken_ShouldRemoveToken() {
-        String token = "jwt-token";
+    void getEmailByToken_ShouldNotCacheUnknownToken() {
+        when(valueOps.get(sessionKey)).thenReturn(null);
 
-        tokenCacheService.deleteToken(token);
+        assertNull(tokenCacheService.getEmailByToken(token));
+        assertNull(tokenCacheService.getEmailByToken(token));
+        verify(valueOps, times(2)).get(sessionKey);
+        verifyNoInteractions(hashOps);
+    }
+
+    @Test
+    void getEmailByToken_ShouldMigrateLegacyToken_WhenFallbackEnabled() {
+        ReflectionTestUtils.setField(tokenCacheService, "legacyFallback", true);
+        ReflectionTestUtils.setField(tokenCacheService, "legacyTtl", Duration.ofMinutes(180));
+        when(valueOps.get(sessionKey)).thenReturn(null);
+        when(hashOps.get("tokens", token)).thenReturn(email);
 
+        String result = tokenCacheService.getEmailByToken(token);
+
+        assertEquals(email, result);
+        verify(valueOps, times(1)).set(eq(sessionKey), eq(email), any(Duration.class));
         verify(hashOps, times(1)).delete("tokens", token);
-        verify(redisTemplate, times(1)).opsForHash();
+    }
+
+    @Test
+    void deleteToken_ShouldRemoveSessionAndNotifyOtherNodes() {
+        tokenNearCache.put(sessionId, email);
+        when(valueOps.getAndDelete(sessionKey)).thenReturn(email);
+
+        tokenCacheService.deleteToken(token);
+
+        verify(setOps, times(1)).remove("user-sessions:" + email, sessionId);
+        assertNull(tokenNearCache.getIfPresent(sessionId));
+        verify(redisTemplate, times(1)).convertAndSend("tokens:invalidate", sessionId);
+        verify(revocationService, times(1)).revoke(eq(sessionId), any(Instant.class));
+    }
+
+    @Test
+    void deleteSessions_ShouldRemoveEverySessionOfUser() {
+        when(setOps.members("user-sessions:" + email)).thenReturn(Set.of("a", "b"));
+
+        tokenCacheService.deleteSessions(email);
+
+        verify(redisTemplate, times(1)).delete(argThat((List<String> keys) ->
+                keys.containsAll(List.of("session:a", "session:b", "user-sessions:" + email))));
+        verify(redisTemplate, times(1)).convertAndSend("tokens:invalidate", "a");
+        verify(redisTemplate, times(1)).convertAndSend("tokens:invalidate", "b");
+        verify(revocationService, times(1)).revoke(eq("a"), any(Instant.class));
+        verify(revocationService, times(1)).revoke(eq("b"), any(Instant.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getSessionPage_ShouldReturnNextCursorUntilScanIsFinished() {
+        KeyScanCursor<byte[]> step = new KeyScanCursor<>();
+        step.getKeys().add("session:a".getBytes(StandardCharsets.UTF_8));
+        step.setCursor("17");
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(step);
+        when(valueOps.multiGet(List.of("session:a"))).thenReturn(List.of(email));
+
+        SessionPage page = tokenCacheService.getSessionPage("0", 100);
+
+        assertEquals(List.of(new ActiveSession("a", email)), page.sessions());
+        assertEquals("17", page.nextCursor());
+
+        step.setFinished(true);
+        assertNull(tokenCacheService.getSessionPage("17", 100).nextCursor());
     }
 }